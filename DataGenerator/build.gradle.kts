@@ -2,6 +2,7 @@ plugins {
     java
     application
     alias(libs.plugins.loom)
+    alias(libs.plugins.jmh)
 }
 
 group = "net.minestom"
@@ -12,6 +13,12 @@ dependencies {
 
     implementation(libs.gson)
     //implementation(libs.bundles.logging) Server comes with logging
+
+    // Tests read the generated files back through the data module, without packaging its resources
+    testImplementation(files(rootProject.the<SourceSetContainer>()["main"].output.classesDirs))
+    testImplementation(platform(libs.junit.bom))
+    testImplementation(libs.junit.jupiter)
+    testRuntimeOnly(libs.junit.platform.launcher)
 }
 
 application {
@@ -20,6 +27,19 @@ application {
 
 tasks.run {
     args = arrayListOf(rootDir.resolve("src/main/resources/net/minestom/data").absolutePath)
+    // e.g. -PdatagenArgs="--only=block,item,tags/block" or -PdatagenArgs=--list
+    project.findProperty("datagenArgs")?.toString()?.split(" ")?.filter { it.isNotBlank() }?.let { args(it) }
+    if (rootProject.hasProperty("compressedData")) args("--compress=deflate")
+    // Packs the json files into dataset.bin, read through net.minestom.data.DataSet
+    if (rootProject.hasProperty("binaryData")) args("--binary")
+    // Bakes registries into classes of the data module, see the root build
+    if (rootProject.hasProperty("codegenData")) {
+        args("--codegen=" + rootProject.layout.buildDirectory.dir("generated/sources/minestom-data").get().asFile.absolutePath)
+    }
+    // Lets repeated runs skip generators whose inputs have not changed
+    systemProperty("minestom.datagen.manifest", layout.buildDirectory.file("datagen-manifest.json").get().asFile.absolutePath)
+    // Per generator timings, also available as JFR events
+    systemProperty("minestom.datagen.metrics", layout.buildDirectory.file("datagen-metrics.json").get().asFile.absolutePath)
 }
 
 java {
@@ -28,7 +48,26 @@ java {
     // Don't use modules here, as it's prone to breakage every update
 }
 
+tasks.test {
+    useJUnitPlatform()
+}
+
 loom {
     serverOnlyMinecraftJar()
     accessWidenerPath = file("src/main/resources/minestom.classtweaker")
 }
+
+sourceSets.named("jmh") {
+    // Benchmarks need the Minecraft server on their classpath just like the generators
+    compileClasspath += sourceSets.main.get().compileClasspath
+    runtimeClasspath += sourceSets.main.get().runtimeClasspath
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    // Every fork bootstraps the game, so keep them to a minimum
+    fork.set(1)
+    resultFormat.set("JSON")
+    // Pass -PjmhResults=<file> to keep the results of several commits side by side
+    resultsFile.set(file(project.findProperty("jmhResults") ?: layout.buildDirectory.file("results/jmh/results.json").get().asFile))
+}
@@ -0,0 +1,30 @@
+package net.minestom.benchmark;
+
+import net.minestom.datagen.DataGen;
+import net.minestom.generators.BlockGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes every block with all of its states, which is dominated by extracting and diffing the state properties.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class BlockGeneratorBenchmark {
+
+    @Benchmark
+    public long allBlockStates(GameBootstrap bootstrap) throws Exception {
+        BlockGenerator generator = new BlockGenerator();
+        generator.generate(DataGen.GSON.newJsonWriter(Writer.nullWriter()));
+        return generator.entryCount();
+    }
+}
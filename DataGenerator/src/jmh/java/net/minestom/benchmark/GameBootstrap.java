@@ -0,0 +1,21 @@
+package net.minestom.benchmark;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Bootstraps the game once per trial, benchmarks depend on it as a parameter.
+ */
+@State(Scope.Benchmark)
+public class GameBootstrap {
+
+    @Setup(Level.Trial)
+    public void bootstrap() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+    }
+}
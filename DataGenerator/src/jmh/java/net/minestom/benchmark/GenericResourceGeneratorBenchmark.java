@@ -0,0 +1,31 @@
+package net.minestom.benchmark;
+
+import net.minestom.datagen.DataGen;
+import net.minestom.generators.GenericResourceGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class GenericResourceGeneratorBenchmark {
+
+    @Param({"worldgen/biome", "enchantment"})
+    public String registry;
+
+    @Benchmark
+    public long generate(GameBootstrap bootstrap) throws Exception {
+        GenericResourceGenerator generator = new GenericResourceGenerator(registry);
+        generator.generate(DataGen.GSON.newJsonWriter(Writer.nullWriter()));
+        return generator.entryCount();
+    }
+}
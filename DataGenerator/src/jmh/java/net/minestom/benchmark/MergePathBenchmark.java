@@ -0,0 +1,47 @@
+package net.minestom.benchmark;
+
+import net.minestom.generators.loot_tables.BlockLootTableGenerator;
+import net.minestom.generators.tags.GenericTagGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merges the largest trees produced by Mojang's data generator. The vanilla generator runs (or is reused) before
+ * the trial, so warmup and measurement only cover the merge.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class MergePathBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class MojangData {
+
+        @Setup(Level.Trial)
+        public void load(GameBootstrap bootstrap) {
+            // Unbound generators share one data folder, resolving it once leaves nothing lazy for the benchmarks
+            new GenericTagGenerator("block").generate();
+        }
+    }
+
+    @Benchmark
+    public Object blockLootTables(MojangData data) {
+        return new BlockLootTableGenerator().generate();
+    }
+
+    @Benchmark
+    public Object blockTags(MojangData data) {
+        return new GenericTagGenerator("block").generate();
+    }
+}
@@ -0,0 +1,35 @@
+package net.minestom.benchmark;
+
+import net.minecraft.server.MinecraftServer;
+import net.minestom.utils.JarIndex;
+import net.minestom.utils.ResourceUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ResourceListingBenchmark {
+
+    @Param({"data/minecraft/worldgen/biome/", "data/minecraft/damage_type/"})
+    public String path;
+
+    @Benchmark
+    public String[] listing(GameBootstrap bootstrap) throws Exception {
+        return ResourceUtils.getResourceListing(MinecraftServer.class, path);
+    }
+
+    @Benchmark
+    public List<String> jarIndex(GameBootstrap bootstrap) {
+        return JarIndex.server().list(path);
+    }
+}
@@ -2,77 +2,375 @@ package net.minestom.datagen;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
 import net.minestom.generators.tags.GenericTagGenerator;
+import net.minestom.utils.HashUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class DataGen {
     public static final Gson GSON = new GsonBuilder().disableHtmlEscaping().create();
     private static final Logger LOGGER = LoggerFactory.getLogger(DataGen.class);
-    private static final List<String> TAG_TYPES = List.of(
-            "banner_pattern",
-            "block",
-            "dialog",
-            "damage_type",
-            "enchantment",
-            "entity_type",
-            "fluid",
-            "game_event",
-            "instrument",
-            "item",
-            "painting_variant",
-            "worldgen/biome",
-            "timeline"
-    );
     private static Path OUTPUT = Path.of("../MinestomData/");
+    private static DataGenManifest MANIFEST = DataGenManifest.disabled();
+    private static String FINGERPRINT = "";
+    // Outputs whose content changed during this run
+    private static final Set<String> CHANGED = ConcurrentHashMap.newKeySet();
 
     static void main(String[] args) throws Exception {
-        if (args.length > 0) {
-            OUTPUT = Path.of(args[0]);
+        List<String> only = List.of();
+        List<String> exclude = List.of();
+        boolean list = false;
+        List<DataGenCompression.Codec> compression = List.of();
+        boolean binary = false;
+        Path codegen = null;
+        for (String arg : args) {
+            if (arg.startsWith("--only=")) {
+                only = splitPatterns(arg.substring("--only=".length()));
+            } else if (arg.startsWith("--exclude=")) {
+                exclude = splitPatterns(arg.substring("--exclude=".length()));
+            } else if (arg.equals("--list")) {
+                list = true;
+            } else if (arg.startsWith("--compress=")) {
+                compression = splitPatterns(arg.substring("--compress=".length())).stream()
+                        .map(DataGenCompression.Codec::byName).toList();
+            } else if (arg.equals("--binary")) {
+                binary = true;
+            } else if (arg.startsWith("--codegen=")) {
+                codegen = Path.of(arg.substring("--codegen=".length()));
+            } else if (arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unknown option '" + arg + "', expected --only=, --exclude=, --compress=, --binary, --codegen= or --list");
+            } else {
+                OUTPUT = Path.of(arg);
+            }
+        }
+
+        // Generators are created lazily and may read the registries before constructing a DataGenerator
+        final var bootstrap = DataGenMetrics.phase("bootstrap");
+        try {
+            SharedConstants.tryDetectVersion();
+            Bootstrap.bootStrap();
+        } finally {
+            bootstrap.finish();
         }
+
+        final DataGenContext context = new DataGenContext();
+        final boolean includeTags = tagsSelectable(only, exclude);
+        // Discovering the tags requires Mojang's generated data, which listing only reads when already cached
+        final Path tagsFolder = !includeTags ? null : list ? DataGenContext.cachedTagsFolder() : context.tagsFolder();
+        final List<Job> jobs = selectJobs(only, exclude, tagsFolder);
+        if (list) {
+            jobs.forEach(job -> System.out.println(job.name()));
+            if (includeTags && tagsFolder == null) {
+                LOGGER.info("Tag jobs (tags/*) are resolved when generating, once Mojang's data generator has run.");
+            }
+            return;
+        }
+
         if (!Files.exists(OUTPUT)) {
             Files.createDirectories(OUTPUT);
         }
 
-        LOGGER.info("Generation starting...");
+        final String manifestPath = System.getProperty("minestom.datagen.manifest");
+        if (manifestPath != null) {
+            // Everything generated is derived from the server jar and this generator's own code, any change to
+            // either runs every generator again
+            configure(OUTPUT, DataGenManifest.load(Path.of(manifestPath)),
+                    HashUtils.hash(MojangDataCache.serverJarHash(), HashUtils.hashCodeSource(DataGen.class)));
+        }
+
+        LOGGER.info("Generation starting ({} generators)...", jobs.size());
+        final long start = System.nanoTime();
+        try (var scheduler = new DataGenScheduler(Runtime.getRuntime().availableProcessors())) {
+            final Set<String> selected = jobs.stream().map(Job::name).collect(Collectors.toSet());
+            for (var job : jobs) {
+                // Dependencies which were not selected are assumed to be up to date
+                var dependencies = job.dependencies().stream().filter(selected::contains).toList();
+                scheduler.submit(job.name(), dependencies, () -> {
+                    final DataGenerator generator = job.generator().get();
+                    generator.bind(context);
+                    generate(job.name(), generator, job.references());
+                });
+            }
+            scheduler.await();
+            if (binary) DataGenBinary.write(OUTPUT);
+            if (codegen != null) DataGenCodegen.write(OUTPUT, codegen);
+            DataGenCompression.compress(OUTPUT, compression);
+            DataGenChecksums.write(OUTPUT);
+        } finally {
+            MANIFEST.save();
+            final String metricsPath = System.getProperty("minestom.datagen.metrics");
+            if (metricsPath != null) {
+                DataGenMetrics.writeSummary(Path.of(metricsPath));
+            }
+        }
+        LOGGER.info("Generation done in {} ms!", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * @param tagsFolder the folder to discover the tag registries in, or null to leave out the tag jobs
+     */
+    private static List<Job> allJobs(Path tagsFolder) throws IOException {
+        List<Job> jobs = new ArrayList<>();
         for (var type : DataGenType.values()) {
-            generate(type.getFileName(), type.getGenerator());
+            var dependencies = type.getDependencies().stream().map(DataGenType::getFileName).toList();
+            var references = type.getReferences().stream().map(DataGenType::getFileName).toList();
+            jobs.add(new Job(type.getFileName(), dependencies, references, type::createGenerator));
+        }
+        if (tagsFolder != null) {
+            Map<String, String> tagFiles = new LinkedHashMap<>();
+            for (String tag : discoverTagRegistries(tagsFolder)) {
+                String filename = tag;
+                if (filename.contains("/")) { // Slice off worldgen from worldgen/biome
+                    filename = filename.substring(filename.lastIndexOf("/") + 1);
+                }
+                // Keep the full path for the rare registry whose last segment is already taken
+                tagFiles.put(tagFiles.containsKey(filename) ? tag : filename, tag);
+            }
+            tagFiles.forEach((filename, tag) ->
+                    jobs.add(new Job("tags/" + filename, List.of(), List.of(), () -> new GenericTagGenerator(tag))));
         }
-        for (var tag : TAG_TYPES) {
-            String filename = tag;
-            if (filename.contains("/")) { // Slice off worldgen from worldgen/biome
-                filename = filename.substring(filename.lastIndexOf("/") + 1);
+        return jobs;
+    }
+
+    /**
+     * Finds every tag registry in Mojang's output. A directory holding tag files directly is a registry
+     * (e.g. {@code block}, including its nested {@code mineable/axe}), any other directory groups registries
+     * (e.g. {@code worldgen/biome}).
+     *
+     * @return the registry paths relative to the tags folder, sorted
+     */
+    private static List<String> discoverTagRegistries(Path root) throws IOException {
+        List<String> registries = new ArrayList<>();
+        List<Path> pending = new ArrayList<>(List.of(root));
+        while (!pending.isEmpty()) {
+            final Path directory = pending.removeLast();
+            final List<Path> children;
+            try (Stream<Path> list = Files.list(directory)) {
+                children = list.toList();
+            }
+            if (directory != root && children.stream().anyMatch(path -> path.toString().endsWith(".json"))) {
+                registries.add(root.relativize(directory).toString().replace('\\', '/'));
+            } else {
+                children.stream().filter(Files::isDirectory).forEach(pending::add);
             }
-            generate("tags/" + filename, new GenericTagGenerator(tag));
         }
-        LOGGER.info("Generation done!");
+        registries.sort(null);
+        return registries;
     }
 
-    public static void generate(String fileName, DataGenerator generator) throws Exception {
-        Object result = generator.generate();
-        final var path = OUTPUT.resolve(fileName + (result instanceof JsonElement ? ".json" : ".snbt"));
+    /**
+     * @param tagsFolder the folder to add a job per tag registry from, otherwise null and patterns which may select a
+     *                   tag are not reported as unmatched
+     */
+    static List<Job> selectJobs(List<String> only, List<String> exclude, Path tagsFolder) throws IOException {
+        final List<Pattern> includes = only.stream().map(DataGen::globPattern).toList();
+        final List<Pattern> excludes = exclude.stream().map(DataGen::globPattern).toList();
+        final List<Job> jobs = allJobs(tagsFolder);
+        for (int i = 0; i < includes.size(); i++) {
+            final Pattern pattern = includes.get(i);
+            if (tagsFolder == null && mayMatchTags(only.get(i))) continue;
+            if (jobs.stream().noneMatch(job -> pattern.matcher(job.name()).matches())) {
+                LOGGER.warn("--only pattern '{}' does not match any generator, see --list.", only.get(i));
+            }
+        }
+        final Set<String> selected = jobs.stream()
+                .filter(job -> includes.isEmpty() || includes.stream().anyMatch(p -> p.matcher(job.name()).matches()))
+                .filter(job -> excludes.stream().noneMatch(p -> p.matcher(job.name()).matches()))
+                .map(Job::name)
+                .collect(Collectors.toCollection(HashSet::new));
+        // Outputs referring to each other by index are only consistent when generated together
+        for (Job job : jobs) {
+            for (String reference : job.references()) {
+                if (selected.contains(job.name()) != selected.contains(reference)) {
+                    LOGGER.info("Selecting both {} and {}, as one refers to the other.", job.name(), reference);
+                    selected.add(job.name());
+                    selected.add(reference);
+                }
+            }
+        }
+        return jobs.stream().filter(job -> selected.contains(job.name())).toList();
+    }
+
+    /**
+     * @return whether the patterns can select a tag job, without knowing the tag registries
+     */
+    static boolean tagsSelectable(List<String> only, List<String> exclude) {
+        return (only.isEmpty() || only.stream().anyMatch(DataGen::mayMatchTags))
+                && exclude.stream().noneMatch(DataGen::matchesAllTags);
+    }
+
+    /**
+     * @return whether the glob can match a name below {@code tags/}
+     */
+    private static boolean mayMatchTags(String glob) {
+        final String prefix = glob.split("\\*", -1)[0];
+        return prefix.startsWith("tags/") || (glob.contains("*") && "tags/".startsWith(prefix));
+    }
+
+    /**
+     * @return whether the glob matches every name below {@code tags/}, e.g. {@code tags/*} or {@code *}
+     */
+    private static boolean matchesAllTags(String glob) {
+        final String[] parts = glob.split("\\*", -1);
+        if (parts.length < 2 || !"tags/".startsWith(parts[0])) return false;
+        for (int i = 1; i < parts.length; i++) {
+            if (!parts[i].isEmpty()) return false;
+        }
+        return true;
+    }
+
+    static List<String> splitPatterns(String value) {
+        return Arrays.stream(value.split(",")).map(String::trim).filter(p -> !p.isEmpty()).toList();
+    }
+
+    /**
+     * Converts a glob where {@code *} matches any characters (including {@code /}) into a pattern.
+     */
+    static Pattern globPattern(String glob) {
+        final String[] parts = glob.split("\\*", -1);
+        StringBuilder regex = new StringBuilder(Pattern.quote(parts[0]));
+        for (int i = 1; i < parts.length; i++) {
+            regex.append(".*").append(Pattern.quote(parts[i]));
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    /**
+     * Sets where {@link #generate} writes and which manifest it skips unchanged generators with.
+     *
+     * @param fingerprint the hash of everything all generators depend on
+     */
+    static void configure(Path output, DataGenManifest manifest, String fingerprint) {
+        OUTPUT = output;
+        MANIFEST = manifest;
+        FINGERPRINT = fingerprint;
+        CHANGED.clear();
+    }
+
+    /**
+     * @param references the outputs the generated one refers to by index, which must have been generated first
+     */
+    public static void generate(String fileName, DataGenerator generator, List<String> references) throws Exception {
+        final var measurement = DataGenMetrics.generator(fileName);
+        try {
+            generate(fileName, generator, references, measurement);
+        } finally {
+            // Still unfinished when the generator or writing its output threw
+            measurement.finishFailed(generator.hasForked());
+        }
+    }
+
+    private static void generate(String fileName, DataGenerator generator, List<String> references,
+                                 DataGenMetrics.Measurement measurement) throws Exception {
+        final String input = HashUtils.hash(FINGERPRINT, fileName, generator.getClass().getName());
+        final var previous = MANIFEST.get(fileName);
+        // A previous output may refer to indices which changed
+        final boolean referencesChanged = references.stream().anyMatch(CHANGED::contains);
+        if (previous != null && previous.input().equals(input) && !referencesChanged) {
+            final var previousPath = OUTPUT.resolve(previous.file());
+            if (Files.exists(previousPath) && HashUtils.hash(previousPath).equals(previous.output())) {
+                LOGGER.debug("Skipping {}, its inputs are unchanged.", fileName);
+                // Sidecars introduced since the file was generated are still written
+                DataGenIndex.update(previousPath, false);
+                measurement.finish(-1, Files.size(previousPath), true, false);
+                return;
+            }
+        }
+
+        final StreamingDataGenerator streaming = generator instanceof StreamingDataGenerator s && s.isStreaming() ? s : null;
+        final Object result = streaming == null ? generator.generate() : null;
+        final var path = OUTPUT.resolve(fileName + (streaming != null || result instanceof JsonElement ? ".json"
+                : result instanceof byte[] ? ".bin" : ".snbt"));
 
         // Ensure that the directory exists
         if (!Files.exists(path)) {
             Files.createDirectories(path.getParent());
         }
-        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
-            try {
-                if (result instanceof JsonElement) {
-                    GSON.toJson(result, writer);
+        // Write next to the target first so that unchanged files are never touched
+        final var temp = path.resolveSibling(path.getFileName() + ".tmp");
+        final String output;
+        final boolean unchanged;
+        try {
+            final var digest = HashUtils.sha256();
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                if (result instanceof byte[] bytes) {
+                    out.write(bytes);
                 } else {
-                    writer.write(result.toString());
+                    BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                    try {
+                        if (streaming != null) {
+                            JsonWriter jsonWriter = GSON.newJsonWriter(writer);
+                            streaming.generate(jsonWriter);
+                            jsonWriter.flush();
+                        } else if (result instanceof JsonElement) {
+                            GSON.toJson(result, writer);
+                        } else {
+                            writer.write(result.toString());
+                        }
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                    writer.flush();
                 }
-            } catch (Exception e) {
-                throw new RuntimeException(e);
             }
+            output = HashUtils.hex(digest);
+            final long entries = streaming != null ? streaming.entryCount()
+                    : result instanceof JsonObject object ? object.size()
+                    : result instanceof JsonArray array ? array.size()
+                    : -1;
+            measurement.finish(entries, Files.size(temp), false, generator.hasForked());
+            unchanged = Files.exists(path) && HashUtils.hash(path).equals(output);
+            if (!unchanged) {
+                CHANGED.add(fileName);
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } finally {
+            // Left behind when unchanged or when generating failed, it would otherwise end up in the data jar
+            Files.deleteIfExists(temp);
         }
+        DataGenIndex.update(path, !unchanged);
+        final String file = OUTPUT.relativize(path).toString().replace('\\', '/');
+        if (previous != null && !previous.file().equals(file)) {
+            // The output changed its format, e.g. from json to binary
+            Files.deleteIfExists(OUTPUT.resolve(previous.file()));
+        }
+        MANIFEST.put(fileName, new DataGenManifest.Entry(input, file, output));
+    }
+
+    /**
+     * @param name         the output file name, also used to select and order generators
+     * @param dependencies the names of the jobs which have to finish first
+     * @param references   the names of the jobs whose output this one refers to by index, selected together with it
+     * @param generator    creates the generator, so unselected generators are never loaded
+     */
+    record Job(String name, List<String> dependencies, List<String> references, Supplier<DataGenerator> generator) {
     }
 }
@@ -0,0 +1,219 @@
+package net.minestom.datagen;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Packs every generated json file into a single binary dataset, readable through {@code net.minestom.data.DataSet}.
+ * <p>
+ * Layout (version 1), where varints are unsigned LEB128 and fixed width numbers are little-endian:
+ * <pre>
+ * "MSDB" version:u8
+ * stringCount:varint (length:varint utf8)*        shared by keys and string values
+ * sectionCount:varint (name:string offset:varint length:varint)*
+ * section data, offsets are relative to its start
+ * </pre>
+ * A section is a single value, named after the file it comes from without extension (e.g. {@code tags/block}).
+ * Arrays whose elements all have the same primitive type are written as typed columns.
+ * The tags must match {@code net.minestom.data.DataReader}.
+ */
+final class DataGenBinary {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataGenBinary.class);
+    static final String DATASET_FILE = "dataset.bin";
+    static final byte[] MAGIC = {'M', 'S', 'D', 'B'};
+    static final int VERSION = 1;
+
+    static final int NULL = 0;
+    static final int FALSE = 1;
+    static final int TRUE = 2;
+    static final int INT = 3;
+    static final int DOUBLE = 4;
+    static final int STRING = 5;
+    static final int ARRAY = 6;
+    static final int OBJECT = 7;
+    static final int INT_COLUMN = 8;
+    static final int DOUBLE_COLUMN = 9;
+    static final int STRING_COLUMN = 10;
+    static final int BOOLEAN_COLUMN = 11;
+
+    private final Map<String, Integer> strings = new LinkedHashMap<>();
+    private final ByteArrayOutputStream data = new ByteArrayOutputStream();
+
+    private DataGenBinary() {}
+
+    /**
+     * Writes the dataset of every json file in the output folder, unless it is unchanged.
+     *
+     * @param output the output folder
+     */
+    static void write(Path output) throws IOException {
+        final List<Path> files;
+        try (Stream<Path> walk = Files.walk(output)) {
+            files = walk.filter(Files::isRegularFile)
+                    .filter(path -> path.toString().endsWith(".json"))
+                    .sorted()
+                    .toList();
+        }
+
+        DataGenBinary binary = new DataGenBinary();
+        List<int[]> sections = new ArrayList<>(files.size());
+        for (Path file : files) {
+            final String relative = output.relativize(file).toString().replace('\\', '/');
+            final int name = binary.string(relative.substring(0, relative.length() - ".json".length()));
+            final int offset = binary.data.size();
+            // One tree at a time, the strings are the only state shared between sections
+            try (Reader reader = Files.newBufferedReader(file)) {
+                binary.value(JsonParser.parseReader(reader));
+            }
+            sections.add(new int[]{name, offset, binary.data.size() - offset});
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(binary.data.size() + 64 * 1024);
+        out.writeBytes(MAGIC);
+        out.write(VERSION);
+        writeVarInt(out, binary.strings.size());
+        for (String string : binary.strings.keySet()) {
+            final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(out, bytes.length);
+            out.writeBytes(bytes);
+        }
+        writeVarInt(out, sections.size());
+        for (int[] section : sections) {
+            for (int value : section) writeVarInt(out, value);
+        }
+        binary.data.writeTo(out);
+
+        final Path target = output.resolve(DATASET_FILE);
+        final byte[] content = out.toByteArray();
+        if (!Files.exists(target) || !Arrays.equals(Files.readAllBytes(target), content)) {
+            Files.write(target, content);
+        }
+        LOGGER.info("Packed {} files into {} ({} bytes, {} strings).", files.size(), DATASET_FILE, content.length, binary.strings.size());
+    }
+
+    private void value(JsonElement element) {
+        switch (element) {
+            case JsonObject object -> {
+                data.write(OBJECT);
+                writeVarInt(data, object.size());
+                for (var entry : object.entrySet()) {
+                    writeVarInt(data, string(entry.getKey()));
+                    value(entry.getValue());
+                }
+            }
+            case JsonArray array -> array(array);
+            case JsonPrimitive primitive when primitive.isBoolean() -> data.write(primitive.getAsBoolean() ? TRUE : FALSE);
+            case JsonPrimitive primitive when primitive.isString() -> {
+                data.write(STRING);
+                writeVarInt(data, string(primitive.getAsString()));
+            }
+            case JsonPrimitive primitive -> {
+                final String number = primitive.getAsString();
+                if (isInteger(number)) {
+                    data.write(INT);
+                    writeVarLong(data, zigZag(Long.parseLong(number)));
+                } else {
+                    data.write(DOUBLE);
+                    writeDouble(Double.parseDouble(number));
+                }
+            }
+            default -> data.write(NULL);
+        }
+    }
+
+    private void array(JsonArray array) {
+        final int column = columnType(array);
+        data.write(column);
+        writeVarInt(data, array.size());
+        switch (column) {
+            case INT_COLUMN -> array.forEach(e -> writeVarLong(data, zigZag(e.getAsLong())));
+            case DOUBLE_COLUMN -> array.forEach(e -> writeDouble(e.getAsDouble()));
+            case STRING_COLUMN -> array.forEach(e -> writeVarInt(data, string(e.getAsString())));
+            case BOOLEAN_COLUMN -> {
+                byte[] bits = new byte[(array.size() + 7) / 8];
+                for (int i = 0; i < array.size(); i++) {
+                    if (array.get(i).getAsBoolean()) bits[i >> 3] |= (byte) (1 << (i & 7));
+                }
+                data.writeBytes(bits);
+            }
+            default -> array.forEach(this::value);
+        }
+    }
+
+    /**
+     * @return the column type all elements fit in, or {@link #ARRAY} for empty and mixed arrays
+     */
+    private static int columnType(JsonArray array) {
+        if (array.isEmpty()) return ARRAY;
+        int type = -1;
+        for (JsonElement element : array) {
+            if (!(element instanceof JsonPrimitive primitive)) return ARRAY;
+            final int elementType = primitive.isBoolean() ? BOOLEAN_COLUMN
+                    : primitive.isString() ? STRING_COLUMN
+                    : isInteger(primitive.getAsString()) ? INT_COLUMN : DOUBLE_COLUMN;
+            if (type == -1 || type == elementType) {
+                type = elementType;
+            } else if ((type == INT_COLUMN || type == DOUBLE_COLUMN) && (elementType == INT_COLUMN || elementType == DOUBLE_COLUMN)) {
+                type = DOUBLE_COLUMN;
+            } else {
+                return ARRAY;
+            }
+        }
+        return type;
+    }
+
+    private static boolean isInteger(String number) {
+        if (number.indexOf('.') != -1 || number.indexOf('e') != -1 || number.indexOf('E') != -1) return false;
+        try {
+            Long.parseLong(number);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private int string(String value) {
+        return strings.computeIfAbsent(value, s -> strings.size());
+    }
+
+    private void writeDouble(double value) {
+        final long bits = Double.doubleToRawLongBits(value);
+        for (int i = 0; i < Long.BYTES; i++) {
+            data.write((int) (bits >>> (i * 8)));
+        }
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+}
@@ -0,0 +1,52 @@
+package net.minestom.datagen;
+
+import net.minestom.utils.HashUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Writes the checksum of every generated file next to it, so {@code net.minestom.data.MappedResources} can cache
+ * the file by content without hashing it at runtime.
+ * <p>
+ * Layout: {@code <sha256 hex> <size>} in ASCII, both of the uncompressed file.
+ */
+final class DataGenChecksums {
+    static final String EXTENSION = ".sha256";
+
+    private DataGenChecksums() {}
+
+    /**
+     * Writes (or removes) the checksums of every file in the output folder, leaving unchanged ones untouched.
+     * Compressed variants share the checksum of the file they decode to.
+     *
+     * @param output the output folder
+     */
+    static void write(Path output) throws IOException {
+        final List<Path> files;
+        try (Stream<Path> walk = Files.walk(output)) {
+            files = walk.filter(Files::isRegularFile).sorted().toList();
+        }
+        for (Path file : files) {
+            final String name = file.getFileName().toString();
+            if (name.endsWith(EXTENSION)) {
+                final Path described = file.resolveSibling(name.substring(0, name.length() - EXTENSION.length()));
+                if (!Files.exists(described)) Files.delete(file);
+            } else if (!isVariant(name)) {
+                final String checksum = HashUtils.hash(file) + " " + Files.size(file);
+                DataGenIndex.writeOrDelete(file.resolveSibling(name + EXTENSION), checksum.getBytes(StandardCharsets.US_ASCII));
+            }
+        }
+    }
+
+    private static boolean isVariant(String name) {
+        for (DataGenCompression.Codec codec : DataGenCompression.Codec.values()) {
+            if (name.endsWith(codec.extension())) return true;
+        }
+        return name.endsWith(".tmp");
+    }
+}
@@ -0,0 +1,256 @@
+package net.minestom.datagen;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Bakes registry data into Java sources of the {@code net.minestom.data} module, so servers can load it through
+ * class loading (and CDS/AOT archives) without reading any file.
+ * <p>
+ * Every registry with a key hash ({@code <file>.mph}) becomes a {@code Baked<Name>} class holding its
+ * {@code RegistryKeys}, and the block state table becomes {@code BakedBlockStates} with one accessor per column.
+ * Data is stored as string constants decoded by {@code net.minestom.data.BakedData}.
+ */
+final class DataGenCodegen {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataGenCodegen.class);
+    private static final String PACKAGE = "net.minestom.data";
+    private static final String HEADER = "// Generated by MinestomDataGenerator, do not edit.\n";
+    // Chars, each of which takes at most 2 bytes of the 65535 bytes a constant can hold
+    private static final int CHUNK_SIZE = 16 * 1024;
+    private static final String BLOCK_STATE_TABLE = "block_state_table.bin";
+    private static final byte[] BLOCK_STATE_TABLE_MAGIC = {'M', 'S', 'B', 'S'};
+    private static final int BLOCK_STATE_TABLE_VERSION = 1;
+
+    private DataGenCodegen() {}
+
+    /**
+     * Writes the sources baked from the generated files, skipping those which are unchanged.
+     *
+     * @param output  the output folder of the generated files
+     * @param sources the source root to write to
+     */
+    static void write(Path output, Path sources) throws IOException {
+        final Path packageFolder = sources.resolve(PACKAGE.replace('.', '/'));
+        Files.createDirectories(packageFolder);
+        final List<Path> keyHashes;
+        try (Stream<Path> walk = Files.walk(output)) {
+            keyHashes = walk.filter(path -> path.toString().endsWith(DataGenKeyHash.EXTENSION)).sorted().toList();
+        }
+        final Set<Path> written = new HashSet<>();
+        for (Path keyHash : keyHashes) {
+            final String relative = output.relativize(keyHash).toString().replace('\\', '/');
+            final String file = relative.substring(0, relative.length() - DataGenKeyHash.EXTENSION.length());
+            final String className = "Baked" + className(file.substring(0, file.lastIndexOf('.')));
+            written.add(writeIfChanged(packageFolder.resolve(className + ".java"), keysClass(className, file, Files.readAllBytes(keyHash))));
+        }
+        final Path table = output.resolve(BLOCK_STATE_TABLE);
+        if (Files.exists(table)) {
+            written.add(writeIfChanged(packageFolder.resolve("BakedBlockStates.java"), blockStatesClass(ByteBuffer.wrap(Files.readAllBytes(table)))));
+        }
+        deleteStale(packageFolder, written);
+        LOGGER.info("Baked {} classes into {}.", written.size(), sources);
+    }
+
+    private static String keysClass(String className, String file, byte[] keyHash) {
+        StringBuilder source = new StringBuilder(keyHash.length * 2 + 512);
+        source.append(HEADER).append("package ").append(PACKAGE).append(";\n\n");
+        source.append("/**\n * The keys and ids of {@code ").append(file).append("}.\n */\n");
+        source.append("public final class ").append(className).append(" {\n");
+        source.append("    public static final RegistryKeys KEYS = BakedData.keys(");
+        appendChunks(source, keyHash);
+        source.append(");\n\n");
+        source.append("    private ").append(className).append("() {}\n}\n");
+        return source.toString();
+    }
+
+    /**
+     * @param table the block state table, see {@code net.minestom.generators.BlockStateTableGenerator} for the layout
+     */
+    private static String blockStatesClass(ByteBuffer table) {
+        for (byte expected : BLOCK_STATE_TABLE_MAGIC) {
+            if (table.get() != expected) throw new IllegalArgumentException("Not a block state table");
+        }
+        final int version = table.get() & 0xFF;
+        if (version != BLOCK_STATE_TABLE_VERSION) throw new IllegalArgumentException("Unsupported block state table version " + version);
+        final int stateCount = readVarInt(table);
+        final int columnCount = readVarInt(table);
+
+        StringBuilder fields = new StringBuilder();
+        StringBuilder methods = new StringBuilder();
+        for (int i = 0; i < columnCount; i++) {
+            final String name = readString(table);
+            final String constant = constantName(name);
+            final int type = table.get() & 0xFF;
+            final List<String> valueNames = new ArrayList<>();
+            for (int remaining = readVarInt(table); remaining > 0; remaining--) valueNames.add(readString(table));
+            final byte[] values = new byte[readVarInt(table)];
+            table.get(values);
+            switch (type) {
+                case 0 -> { // float
+                    fields.append("    private static final float[] ").append(constant).append(" = BakedData.floats(BakedData.bytes(");
+                    appendChunks(fields, values);
+                    fields.append("));\n");
+                    methods.append("    public static float ").append(name).append("(int stateId) {\n        return ")
+                            .append(constant).append("[stateId];\n    }\n\n");
+                }
+                case 1 -> { // byte
+                    fields.append("    private static final byte[] ").append(constant).append(" = BakedData.bytes(");
+                    appendChunks(fields, values);
+                    fields.append(");\n");
+                    if (!valueNames.isEmpty()) {
+                        fields.append("    private static final String[] ").append(constant).append("_NAMES = {");
+                        for (int j = 0; j < valueNames.size(); j++) {
+                            if (j > 0) fields.append(", ");
+                            appendString(fields, valueNames.get(j));
+                        }
+                        fields.append("};\n");
+                        methods.append("    /**\n     * @return the name of the value, or null if there is none\n     */\n");
+                        methods.append("    public static String ").append(name).append("(int stateId) {\n");
+                        methods.append("        final int index = ").append(constant).append("[stateId] & 0xFF;\n");
+                        methods.append("        return index < ").append(constant).append("_NAMES.length ? ")
+                                .append(constant).append("_NAMES[index] : null;\n    }\n\n");
+                    } else {
+                        methods.append("    public static int ").append(name).append("(int stateId) {\n        return ")
+                                .append(constant).append("[stateId] & 0xFF;\n    }\n\n");
+                    }
+                }
+                case 2 -> { // bits
+                    fields.append("    private static final BitSet ").append(constant).append(" = BitSet.valueOf(BakedData.bytes(");
+                    appendChunks(fields, values);
+                    fields.append("));\n");
+                    methods.append("    public static boolean ").append(name).append("(int stateId) {\n        return ")
+                            .append(constant).append(".get(stateId);\n    }\n\n");
+                }
+                default -> throw new IllegalArgumentException("Unknown column type of " + name + ": " + type);
+            }
+        }
+
+        StringBuilder source = new StringBuilder(fields.length() + methods.length() + 512);
+        source.append(HEADER).append("package ").append(PACKAGE).append(";\n\n");
+        source.append("import java.util.BitSet;\n\n");
+        source.append("/**\n * The properties of every block state, indexed by state id, see {@code ").append(BLOCK_STATE_TABLE).append("}.\n */\n");
+        source.append("public final class BakedBlockStates {\n");
+        source.append("    public static final int STATE_COUNT = ").append(stateCount).append(";\n\n");
+        source.append(fields).append('\n').append(methods);
+        source.append("    private BakedBlockStates() {}\n}\n");
+        return source.toString();
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        final byte[] bytes = new byte[readVarInt(buffer)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int readVarInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            if (shift > 28) throw new IllegalArgumentException("Varint too long");
+            final byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+    }
+
+    /**
+     * Appends the data as string literals with one char per byte, split into chunks.
+     */
+    private static void appendChunks(StringBuilder source, byte[] data) {
+        if (data.length == 0) source.append("\"\"");
+        for (int start = 0; start < data.length; start += CHUNK_SIZE) {
+            if (start > 0) source.append(',');
+            source.append("\n            \"");
+            for (int i = start; i < Math.min(data.length, start + CHUNK_SIZE); i++) {
+                appendChar(source, (char) (data[i] & 0xFF));
+            }
+            source.append('"');
+        }
+    }
+
+    /**
+     * Appends the value as a string literal.
+     */
+    private static void appendString(StringBuilder source, String value) {
+        source.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            appendChar(source, value.charAt(i));
+        }
+        source.append('"');
+    }
+
+    /**
+     * Appends the char as it is written within a string literal, escaping quotes, backslashes and control chars.
+     */
+    private static void appendChar(StringBuilder source, char c) {
+        if ((c >= 0x20 && c < 0x7F && c != '"' && c != '\\') || c > 0xFF) {
+            // The sources are written as UTF-8, so chars past Latin-1 need no escape
+            source.append(c);
+        } else {
+            // Octal escapes, unlike unicode escapes, are only interpreted within the literal.
+            // Always three digits, so that a following digit is not read as part of the escape.
+            source.append('\\').append((char) ('0' + (c >> 6))).append((char) ('0' + ((c >> 3) & 7))).append((char) ('0' + (c & 7)));
+        }
+    }
+
+    /**
+     * @return {@code worldgen/biome} as {@code WorldgenBiome}, {@code sound_event} as {@code SoundEvent}
+     */
+    private static String className(String file) {
+        StringBuilder name = new StringBuilder();
+        for (String part : file.split("[/_]")) {
+            if (part.isEmpty()) continue;
+            name.append(Character.toUpperCase(part.charAt(0))).append(part.substring(1));
+        }
+        return name.toString();
+    }
+
+    /**
+     * @return {@code lightEmission} as {@code LIGHT_EMISSION}
+     */
+    private static String constantName(String name) {
+        return name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Deletes the classes of an earlier pass whose source file is gone, so they do not compile with outdated data.
+     * Only files starting with the generated header are considered.
+     */
+    private static void deleteStale(Path packageFolder, Set<Path> written) throws IOException {
+        final byte[] header = HEADER.getBytes(StandardCharsets.UTF_8);
+        final List<Path> candidates;
+        try (Stream<Path> list = Files.list(packageFolder)) {
+            candidates = list.filter(path -> path.getFileName().toString().endsWith(".java"))
+                    .filter(path -> !written.contains(path))
+                    .toList();
+        }
+        for (Path path : candidates) {
+            final byte[] content = Files.readAllBytes(path);
+            if (content.length < header.length || !Arrays.equals(content, 0, header.length, header, 0, header.length)) continue;
+            LOGGER.info("Removing stale baked class {}.", path);
+            Files.delete(path);
+        }
+    }
+
+    /**
+     * @return the written path
+     */
+    private static Path writeIfChanged(Path path, String content) throws IOException {
+        final byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        if (Files.exists(path) && Arrays.equals(Files.readAllBytes(path), bytes)) return path;
+        Files.write(path, bytes);
+        return path;
+    }
+}
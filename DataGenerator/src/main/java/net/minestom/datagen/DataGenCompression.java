@@ -0,0 +1,167 @@
+package net.minestom.datagen;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes compressed variants of the generated files, readable through {@code MinestomData.resource}.
+ * <p>
+ * The extensions and the dictionary location must match {@code net.minestom.data.BuiltinCodecs}.
+ */
+final class DataGenCompression {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataGenCompression.class);
+    static final String DICTIONARY_FILE = "deflate_dictionary.bin";
+    // Deflate can only refer back 32KiB, a larger dictionary would never be used
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+    private static final int MIN_OCCURRENCES = 4;
+    // Quoted strings and object keys, which is what repeats the most in registry data
+    private static final Pattern TOKEN = Pattern.compile("\"[^\"\\\\]{2,64}\":?");
+
+    private DataGenCompression() {}
+
+    enum Codec {
+        GZIP(".gz"),
+        DEFLATE_DICTIONARY(".zdict");
+
+        private final String extension;
+
+        Codec(String extension) {
+            this.extension = extension;
+        }
+
+        String extension() {
+            return extension;
+        }
+
+        static Codec byName(String name) {
+            return switch (name.toLowerCase(Locale.ROOT)) {
+                case "gzip", "gz" -> GZIP;
+                case "deflate", "zdict" -> DEFLATE_DICTIONARY;
+                default -> throw new IllegalArgumentException("Unknown compression '" + name + "', expected gzip or deflate");
+            };
+        }
+    }
+
+    /**
+     * Compresses every generated file in the output folder with each codec, skipping variants which are unchanged.
+     *
+     * @param output the output folder
+     * @param codecs the codecs to write variants for
+     */
+    static void compress(Path output, List<Codec> codecs) throws IOException {
+        if (codecs.isEmpty()) return;
+        final List<Path> files;
+        try (Stream<Path> walk = Files.walk(output)) {
+            files = walk.filter(Files::isRegularFile)
+                    .filter(path -> path.toString().endsWith(".json") || path.toString().endsWith(".snbt"))
+                    .sorted()
+                    .toList();
+        }
+
+        byte[] dictionary = null;
+        if (codecs.contains(Codec.DEFLATE_DICTIONARY)) {
+            dictionary = buildDictionary(files);
+            writeIfChanged(output.resolve(DICTIONARY_FILE), dictionary);
+        }
+        final byte[] dict = dictionary;
+        try {
+            files.parallelStream().forEach(file -> {
+                try {
+                    final byte[] content = Files.readAllBytes(file);
+                    for (Codec codec : codecs) {
+                        final Path target = file.resolveSibling(file.getFileName() + codec.extension);
+                        writeIfChanged(target, encode(codec, content, dict));
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        LOGGER.info("Compressed {} files with {}.", files.size(), codecs);
+    }
+
+    static byte[] encode(Codec codec, byte[] content, byte[] dictionary) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 4);
+        switch (codec) {
+            case GZIP -> {
+                try (OutputStream gzip = new GZIPOutputStream(out)) {
+                    gzip.write(content);
+                }
+            }
+            case DEFLATE_DICTIONARY -> {
+                Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+                try (OutputStream deflate = new DeflaterOutputStream(out, deflater)) {
+                    deflater.setDictionary(dictionary);
+                    deflate.write(content);
+                } finally {
+                    deflater.end();
+                }
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Builds a preset dictionary from the strings repeated most across all files. The most valuable strings are
+     * placed last, as deflate encodes closer matches more cheaply.
+     */
+    static byte[] buildDictionary(List<Path> files) throws IOException {
+        Map<String, Integer> occurrences = new HashMap<>();
+        for (Path file : files) {
+            Matcher matcher = TOKEN.matcher(Files.readString(file));
+            while (matcher.find()) {
+                occurrences.merge(matcher.group(), 1, Integer::sum);
+            }
+        }
+
+        List<Map.Entry<String, Integer>> candidates = new ArrayList<>();
+        for (var entry : occurrences.entrySet()) {
+            if (entry.getValue() >= MIN_OCCURRENCES) candidates.add(entry);
+        }
+        Comparator<Map.Entry<String, Integer>> byValue = Comparator.comparingLong(entry -> (long) entry.getValue() * entry.getKey().length());
+        candidates.sort(byValue.reversed().thenComparing(Map.Entry::getKey));
+
+        List<byte[]> selected = new ArrayList<>();
+        int size = 0;
+        for (var candidate : candidates) {
+            byte[] bytes = candidate.getKey().getBytes(StandardCharsets.UTF_8);
+            if (size + bytes.length > DICTIONARY_SIZE) continue;
+            selected.add(bytes);
+            size += bytes.length;
+        }
+
+        ByteArrayOutputStream dictionary = new ByteArrayOutputStream(size);
+        for (int i = selected.size() - 1; i >= 0; i--) {
+            dictionary.write(selected.get(i));
+        }
+        return dictionary.toByteArray();
+    }
+
+    private static void writeIfChanged(Path path, byte[] content) throws IOException {
+        if (Files.exists(path) && Arrays.equals(Files.readAllBytes(path), content)) return;
+        Files.write(path, content);
+    }
+}
@@ -0,0 +1,147 @@
+package net.minestom.datagen;
+
+import com.google.gson.JsonElement;
+import com.mojang.serialization.JsonOps;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.core.component.DataComponentInitializers;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.data.registries.VanillaRegistries;
+import net.minecraft.resources.RegistryOps;
+import net.minestom.utils.JarIndex;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The state shared by every generator of a run, each part being built once on first use.
+ * <p>
+ * Generators reach it through {@link DataGenerator#context()}, so a run only selecting cheap generators never builds
+ * the registry lookup or runs Mojang's data generator.
+ */
+public final class DataGenContext {
+    private final Lazy<HolderLookup.Provider> lookup = new Lazy<>(DataGenContext::createLookup);
+    private final Lazy<RegistryOps<JsonElement>> jsonOps = new Lazy<>(() -> lookup().createSerializationContext(JsonOps.INSTANCE));
+    private final Lazy<Path> dataFolder = new Lazy<>(DataGenContext::loadDataFolder);
+    private final Map<Class<?>, Lazy<?>> shared = new ConcurrentHashMap<>();
+
+    DataGenContext() {}
+
+    /**
+     * @return the context of generators used outside of a run (e.g. benchmarks), created on first use
+     */
+    static DataGenContext standalone() {
+        return StandaloneHolder.CONTEXT;
+    }
+
+    /**
+     * The lookup of every vanilla registry, the item prototypes having their pending components applied.
+     */
+    public HolderLookup.Provider lookup() {
+        return lookup.get();
+    }
+
+    /**
+     * @return the ops encoding registry values to json, referencing registry entries by key
+     */
+    public RegistryOps<JsonElement> jsonOps() {
+        return jsonOps.get();
+    }
+
+    /**
+     * @return the index of the server jar
+     */
+    public JarIndex jar() {
+        return JarIndex.server();
+    }
+
+    /**
+     * @return the {@code data/minecraft} folder of Mojang's data generator output, running it if needed
+     */
+    public Path dataFolder() {
+        return dataFolder.get();
+    }
+
+    public Path lootTablesFolder() {
+        return dataFolder().resolve("loot_table");
+    }
+
+    public Path tagsFolder() {
+        return dataFolder().resolve("tags");
+    }
+
+    /**
+     * @return the tags folder if Mojang's data generator output is already cached, otherwise null without running it
+     */
+    static Path cachedTagsFolder() throws IOException {
+        final Path root = MojangDataCache.cached();
+        return root != null ? dataFolder(root).resolve("tags") : null;
+    }
+
+    /**
+     * Gets a value shared by several generators, e.g. a table which two outputs are derived from.
+     *
+     * @param type    the type of the value, identifying it within the run
+     * @param factory creates the value on first use, it may use other parts of this context
+     * @return the value
+     */
+    public <T> T shared(Class<T> type, Function<DataGenContext, ? extends T> factory) {
+        final Lazy<?> value = shared.computeIfAbsent(type, ignored -> new Lazy<>(() -> factory.apply(this)));
+        return type.cast(value.get());
+    }
+
+    private static HolderLookup.Provider createLookup() {
+        final var measurement = DataGenMetrics.phase("registry_lookup");
+        try {
+            final HolderLookup.Provider lookup = VanillaRegistries.createLookup();
+            // Item prototypes reference registry entries, so their components are only complete once the lookup exists
+            BuiltInRegistries.DATA_COMPONENT_INITIALIZERS.build(lookup).forEach(DataComponentInitializers.PendingComponents::apply);
+            return lookup;
+        } finally {
+            measurement.finish();
+        }
+    }
+
+    private static Path loadDataFolder() {
+        try {
+            return dataFolder(MojangDataCache.load());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Something went wrong while running Mojang's data generator", e);
+        }
+    }
+
+    private static Path dataFolder(Path root) {
+        return root.resolve("data").resolve("minecraft");
+    }
+
+    /**
+     * A value computed once, by the first thread asking for it.
+     */
+    private static final class Lazy<T> {
+        private final Supplier<? extends T> supplier;
+        private volatile T value;
+
+        Lazy(Supplier<? extends T> supplier) {
+            this.supplier = supplier;
+        }
+
+        T get() {
+            T result = value;
+            if (result == null) {
+                synchronized (this) {
+                    result = value;
+                    if (result == null) value = result = supplier.get();
+                }
+            }
+            return result;
+        }
+    }
+
+    private static final class StandaloneHolder {
+        private static final DataGenContext CONTEXT = new DataGenContext();
+    }
+}
@@ -0,0 +1,208 @@
+package net.minestom.datagen;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writes the offset index next to large generated files, so a registry entry can be decoded without parsing the
+ * whole file (see {@code net.minestom.data.LazyRegistry}).
+ * <p>
+ * Layout (version 1), where varints are unsigned LEB128:
+ * <pre>
+ * "MSDX" version:u8 count:varint
+ * (keyLength:varint key:utf8 id:varint offset:varint length:varint)*   in file order
+ * </pre>
+ * The id is the {@code id} field of the entry plus one, zero when the entry has none. The offset and length are
+ * those of the entry value, in bytes of the uncompressed file.
+ */
+final class DataGenIndex {
+    static final String EXTENSION = ".idx";
+    // Smaller files are read faster as a whole than through an index
+    static final long THRESHOLD = 128 * 1024;
+    private static final byte[] MAGIC = {'M', 'S', 'D', 'X'};
+    private static final int VERSION = 1;
+
+    private DataGenIndex() {}
+
+    /**
+     * Writes (or removes) the sidecars of a generated file: its offset index, and its key hash (see
+     * {@link DataGenKeyHash}) when every entry has an id. Sidecars which are unchanged are not touched.
+     *
+     * @param file    the generated file
+     * @param changed whether the file was just rewritten, otherwise the sidecars are only rebuilt when some are missing
+     */
+    static void update(Path file, boolean changed) throws IOException {
+        final Path index = file.resolveSibling(file.getFileName() + EXTENSION);
+        final Path keyHash = file.resolveSibling(file.getFileName() + DataGenKeyHash.EXTENSION);
+        // Smaller files are cheap to check by rebuilding their sidecars, which are then left untouched
+        if (!changed && Files.exists(index) && sidecarsComplete(Files.readAllBytes(index), Files.exists(keyHash))) return;
+        final List<Entry> entries = file.toString().endsWith(".json") ? entries(Files.readAllBytes(file)) : null;
+        final boolean large = Files.size(file) >= THRESHOLD;
+        writeOrDelete(index, entries != null && large ? build(entries) : null);
+        final boolean identified = entries != null && !entries.isEmpty() && entries.stream().allMatch(entry -> entry.id() >= 0);
+        writeOrDelete(keyHash, identified ? DataGenKeyHash.build(entries) : null);
+    }
+
+    /**
+     * @param key    the entry key
+     * @param id     the {@code id} field of the entry value, or -1 when it has none
+     * @param offset the byte offset of the entry value
+     * @param length the byte length of the entry value
+     */
+    record Entry(String key, int id, int offset, int length) {
+    }
+
+    /**
+     * @param json the content of a generated file
+     * @return its entries in file order, or null if it is not a json object
+     */
+    static List<Entry> entries(byte[] json) {
+        int i = skipWhitespace(json, 0);
+        if (i >= json.length || json[i] != '{') return null;
+
+        List<Entry> entries = new ArrayList<>();
+        i = skipWhitespace(json, i + 1);
+        while (json[i] != '}') {
+            final int keyStart = i;
+            i = skipValue(json, i);
+            final String key = JsonParser.parseString(new String(json, keyStart, i - keyStart, StandardCharsets.UTF_8)).getAsString();
+            i = skipWhitespace(json, i);
+            if (json[i] != ':') throw new IllegalStateException("Expected ':' at byte " + i);
+            final int valueStart = skipWhitespace(json, i + 1);
+            final int valueEnd = skipValue(json, valueStart);
+            final int id = id(new String(json, valueStart, valueEnd - valueStart, StandardCharsets.UTF_8));
+            entries.add(new Entry(key, id, valueStart, valueEnd - valueStart));
+
+            i = skipWhitespace(json, valueEnd);
+            if (json[i] == ',') i = skipWhitespace(json, i + 1);
+        }
+        return entries;
+    }
+
+    /**
+     * @return the offset index of the entries
+     */
+    static byte[] build(List<Entry> entries) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(entries.size() * 32 + 16);
+        out.writeBytes(MAGIC);
+        out.write(VERSION);
+        writeVarInt(out, entries.size());
+        for (Entry entry : entries) {
+            final byte[] keyBytes = entry.key().getBytes(StandardCharsets.UTF_8);
+            writeVarInt(out, keyBytes.length);
+            out.writeBytes(keyBytes);
+            writeVarInt(out, entry.id() + 1);
+            writeVarInt(out, entry.offset());
+            writeVarInt(out, entry.length());
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @param index      the offset index of an unchanged file, possibly written by an older version
+     * @param hasKeyHash whether the file has a key hash
+     * @return whether the sidecars are current, the file has a key hash exactly when all indexed entries have an id
+     */
+    private static boolean sidecarsComplete(byte[] index, boolean hasKeyHash) {
+        final ByteBuffer buffer = ByteBuffer.wrap(index);
+        for (byte expected : MAGIC) {
+            if (!buffer.hasRemaining() || buffer.get() != expected) return false;
+        }
+        if (!buffer.hasRemaining() || buffer.get() != VERSION) return false;
+        final int count = readVarInt(buffer);
+        boolean identified = count > 0;
+        for (int i = 0; i < count && identified; i++) {
+            final int keyLength = readVarInt(buffer);
+            buffer.position(buffer.position() + keyLength);
+            identified = readVarInt(buffer) != 0;
+            readVarInt(buffer);
+            readVarInt(buffer);
+        }
+        return identified == hasKeyHash;
+    }
+
+    static void writeOrDelete(Path path, byte[] content) throws IOException {
+        if (content == null) {
+            Files.deleteIfExists(path);
+        } else if (!Files.exists(path) || !Arrays.equals(Files.readAllBytes(path), content)) {
+            Files.write(path, content);
+        }
+    }
+
+    private static int id(String value) {
+        final JsonElement element = JsonParser.parseString(value);
+        if (element instanceof JsonObject object && object.get("id") instanceof JsonPrimitive id && id.isNumber()) {
+            return id.getAsInt();
+        }
+        return -1;
+    }
+
+    /**
+     * @return the index after the value (or key) starting at {@code i}
+     */
+    private static int skipValue(byte[] json, int i) {
+        int depth = 0;
+        while (i < json.length) {
+            final byte b = json[i];
+            if (b == '"') {
+                i++;
+                while (json[i] != '"') {
+                    i += json[i] == '\\' ? 2 : 1;
+                }
+                i++;
+                if (depth == 0) return i;
+            } else if (b == '{' || b == '[') {
+                depth++;
+                i++;
+            } else if (b == '}' || b == ']') {
+                if (depth == 0) return i; // End of the enclosing container
+                depth--;
+                i++;
+                if (depth == 0) return i;
+            } else if (depth == 0 && (b == ',' || b == ':' || isWhitespace(b))) {
+                return i; // End of a number or literal
+            } else {
+                i++;
+            }
+        }
+        return i;
+    }
+
+    private static int skipWhitespace(byte[] json, int i) {
+        while (i < json.length && isWhitespace(json[i])) i++;
+        return i;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    private static int readVarInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            final byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+    }
+
+    static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+}
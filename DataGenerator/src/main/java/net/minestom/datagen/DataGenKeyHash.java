@@ -0,0 +1,130 @@
+package net.minestom.datagen;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Builds a minimal perfect hash of the keys of a registry, read by {@code net.minestom.data.RegistryKeys}.
+ * <p>
+ * Keys are split into buckets by their hash, then each bucket gets the first seed which places all of its keys into
+ * free slots (hash and displace). Every key ends up in its own slot out of exactly one slot per key.
+ * <p>
+ * Layout (version 1), where varints are unsigned LEB128:
+ * <pre>
+ * "MSPH" version:u8 keyCount:varint bucketCount:varint
+ * seed:varint * bucketCount
+ * (id:varint keyLength:varint key:ascii) * keyCount   in slot order
+ * </pre>
+ */
+final class DataGenKeyHash {
+    static final String EXTENSION = ".mph";
+    private static final byte[] MAGIC = {'M', 'S', 'P', 'H'};
+    private static final int VERSION = 1;
+    // Average keys per bucket, more buckets take more space but find seeds faster
+    private static final int BUCKET_SIZE = 4;
+    private static final int MAX_SEED = 1 << 24;
+
+    private DataGenKeyHash() {}
+
+    /**
+     * @param entries the entries of a registry, all with an id
+     * @return the encoded hash
+     */
+    static byte[] build(List<DataGenIndex.Entry> entries) {
+        final int keyCount = entries.size();
+        final int bucketCount = (keyCount + BUCKET_SIZE - 1) / BUCKET_SIZE;
+        final long[] hashes = new long[keyCount];
+        final List<List<Integer>> buckets = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) buckets.add(new ArrayList<>());
+        for (int i = 0; i < keyCount; i++) {
+            final String key = entries.get(i).key();
+            for (int c = 0; c < key.length(); c++) {
+                if (key.charAt(c) > 0x7F) throw new IllegalArgumentException("Key '" + key + "' is not ascii");
+            }
+            hashes[i] = hash(key);
+            buckets.get(bucket(hashes[i], bucketCount)).add(i);
+        }
+
+        // Largest buckets first, while most slots are still free
+        List<Integer> order = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) order.add(i);
+        order.sort(Comparator.<Integer>comparingInt(b -> buckets.get(b).size()).reversed().thenComparing(b -> b));
+
+        final int[] seeds = new int[bucketCount];
+        final int[] slotEntries = new int[keyCount];
+        final BitSet used = new BitSet(keyCount);
+        final int[] candidate = new int[buckets.get(order.getFirst()).size()];
+        for (int bucket : order) {
+            final List<Integer> keys = buckets.get(bucket);
+            if (keys.isEmpty()) continue;
+            int seed = 0;
+            search:
+            while (true) {
+                if (seed >= MAX_SEED) throw new IllegalStateException("No seed found for a bucket of " + keys.size() + " keys");
+                for (int k = 0; k < keys.size(); k++) {
+                    final int slot = slot(hashes[keys.get(k)], seed, keyCount);
+                    if (used.get(slot)) {
+                        seed++;
+                        continue search;
+                    }
+                    for (int j = 0; j < k; j++) {
+                        if (candidate[j] == slot) {
+                            seed++;
+                            continue search;
+                        }
+                    }
+                    candidate[k] = slot;
+                }
+                break;
+            }
+            seeds[bucket] = seed;
+            for (int k = 0; k < keys.size(); k++) {
+                used.set(candidate[k]);
+                slotEntries[candidate[k]] = keys.get(k);
+            }
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(keyCount * 24 + bucketCount * 2 + 16);
+        out.writeBytes(MAGIC);
+        out.write(VERSION);
+        DataGenIndex.writeVarInt(out, keyCount);
+        DataGenIndex.writeVarInt(out, bucketCount);
+        for (int seed : seeds) DataGenIndex.writeVarInt(out, seed);
+        for (int slot = 0; slot < keyCount; slot++) {
+            final DataGenIndex.Entry entry = entries.get(slotEntries[slot]);
+            final byte[] key = entry.key().getBytes(StandardCharsets.US_ASCII);
+            DataGenIndex.writeVarInt(out, entry.id());
+            DataGenIndex.writeVarInt(out, key.length);
+            out.writeBytes(key);
+        }
+        return out.toByteArray();
+    }
+
+    // The hash functions must match net.minestom.data.RegistryKeys
+
+    private static long hash(CharSequence key) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static int bucket(long hash, int bucketCount) {
+        return (int) Long.remainderUnsigned(hash, bucketCount);
+    }
+
+    private static int slot(long hash, int seed, int keyCount) {
+        return (int) Long.remainderUnsigned(mix(hash ^ (seed * 0x9E3779B97F4A7C15L)), keyCount);
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+        value = (value ^ (value >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return value ^ (value >>> 33);
+    }
+}
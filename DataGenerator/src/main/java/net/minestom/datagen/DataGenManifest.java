@@ -0,0 +1,98 @@
+package net.minestom.datagen;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records, per generated file, a hash of what it was generated from and a hash of what was written.
+ * <p>
+ * A generator is skipped when its input hash is unchanged and its output file still has the recorded hash.
+ */
+final class DataGenManifest {
+    private static final int VERSION = 1;
+
+    private final @Nullable Path path;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private DataGenManifest(@Nullable Path path) {
+        this.path = path;
+    }
+
+    /**
+     * A manifest which is never saved, so every generator runs.
+     */
+    static DataGenManifest disabled() {
+        return new DataGenManifest(null);
+    }
+
+    static DataGenManifest load(Path path) throws IOException {
+        DataGenManifest manifest = new DataGenManifest(path);
+        if (!Files.exists(path)) return manifest;
+
+        JsonObject json;
+        try (BufferedReader reader = Files.newBufferedReader(path)) {
+            json = DataGen.GSON.fromJson(reader, JsonObject.class);
+        }
+        if (json == null || !json.has("version") || json.get("version").getAsInt() != VERSION) return manifest;
+        for (var entry : json.getAsJsonObject("files").entrySet()) {
+            JsonObject value = entry.getValue().getAsJsonObject();
+            manifest.entries.put(entry.getKey(), new Entry(
+                    value.get("input").getAsString(),
+                    value.get("file").getAsString(),
+                    value.get("output").getAsString()
+            ));
+        }
+        return manifest;
+    }
+
+    boolean enabled() {
+        return path != null;
+    }
+
+    @Nullable Entry get(String name) {
+        return enabled() ? entries.get(name) : null;
+    }
+
+    void put(String name, Entry entry) {
+        entries.put(name, entry);
+    }
+
+    void save() throws IOException {
+        if (path == null) return;
+
+        JsonObject files = new JsonObject();
+        for (var entry : new TreeMap<>(entries).entrySet()) {
+            JsonObject value = new JsonObject();
+            value.addProperty("input", entry.getValue().input());
+            value.addProperty("file", entry.getValue().file());
+            value.addProperty("output", entry.getValue().output());
+            files.add(entry.getKey(), value);
+        }
+        JsonObject json = new JsonObject();
+        json.addProperty("version", VERSION);
+        json.add("files", files);
+
+        if (path.getParent() != null) Files.createDirectories(path.getParent());
+        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+            new GsonBuilder().setPrettyPrinting().create().toJson(json, writer);
+        }
+    }
+
+    /**
+     * @param input  the hash of everything the generator depends on
+     * @param file   the output file, relative to the output folder
+     * @param output the hash of the output file
+     */
+    record Entry(String input, String file, String output) {
+    }
+}
@@ -0,0 +1,200 @@
+package net.minestom.datagen;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Measures each generator and the bootstrap phases of a run.
+ * <p>
+ * Every measurement is emitted as a JFR event (enable with {@code -XX:StartFlightRecording}) and kept for the
+ * summary file written at the end of the run. CPU time and allocations are those of the measuring thread, they are
+ * left out for generators handing work off to other threads (see {@link DataGenerator#markForked()}).
+ */
+final class DataGenMetrics {
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final Queue<Sample> PHASES = new ConcurrentLinkedQueue<>();
+    private static final Queue<Sample> GENERATORS = new ConcurrentLinkedQueue<>();
+
+    private DataGenMetrics() {}
+
+    /**
+     * Starts measuring a phase of the run outside of the generators, such as the Mojang bootstrap.
+     */
+    static Measurement phase(String name) {
+        return new Measurement(name, true);
+    }
+
+    /**
+     * Starts measuring a generator, identified by its output name.
+     */
+    static Measurement generator(String name) {
+        return new Measurement(name, false);
+    }
+
+    /**
+     * Writes every measurement taken so far as JSON, phases in the order they ran and generators by name.
+     */
+    static void writeSummary(Path path) throws IOException {
+        JsonObject summary = new JsonObject();
+        summary.add("phases", toJson(PHASES.stream().toList()));
+        summary.add("generators", toJson(GENERATORS.stream().sorted(Comparator.comparing(Sample::name)).toList()));
+
+        if (path.getParent() != null) Files.createDirectories(path.getParent());
+        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+            new GsonBuilder().setPrettyPrinting().create().toJson(summary, writer);
+        }
+    }
+
+    private static JsonArray toJson(List<Sample> samples) {
+        JsonArray array = new JsonArray();
+        for (Sample sample : samples) {
+            JsonObject json = new JsonObject();
+            json.addProperty("name", sample.name());
+            json.addProperty("wallNanos", sample.wallNanos());
+            if (!sample.forked()) {
+                json.addProperty("cpuNanos", sample.cpuNanos());
+                json.addProperty("allocatedBytes", sample.allocatedBytes());
+            }
+            if (sample.entries() >= 0) json.addProperty("entries", sample.entries());
+            if (sample.outputBytes() >= 0) json.addProperty("outputBytes", sample.outputBytes());
+            if (sample.skipped()) json.addProperty("skipped", true);
+            if (sample.failed()) json.addProperty("failed", true);
+            if (sample.forked()) json.addProperty("forked", true);
+            array.add(json);
+        }
+        return array;
+    }
+
+    static final class Measurement {
+        private final String name;
+        private final boolean phase;
+        private final Event event;
+        private final long startWall = System.nanoTime();
+        private final long startCpu = THREADS.getCurrentThreadCpuTime();
+        private final long startAllocated = THREADS.getCurrentThreadAllocatedBytes();
+        private boolean finished;
+
+        private Measurement(String name, boolean phase) {
+            this.name = name;
+            this.phase = phase;
+            this.event = phase ? new PhaseEvent() : new GenerateEvent();
+            this.event.begin();
+        }
+
+        void finish() {
+            finish(-1, -1, false, false, false);
+        }
+
+        /**
+         * @param entries     the number of top level entries written, or -1 if unknown
+         * @param outputBytes the size of the output file, or -1 if unknown
+         * @param skipped     whether the generator was skipped as its inputs were unchanged
+         * @param forked      whether the generator handed work off to other threads
+         */
+        void finish(long entries, long outputBytes, boolean skipped, boolean forked) {
+            finish(entries, outputBytes, skipped, false, forked);
+        }
+
+        /**
+         * Finishes the measurement of a generator which threw, unless it was finished before.
+         *
+         * @param forked whether the generator handed work off to other threads
+         */
+        void finishFailed(boolean forked) {
+            if (!finished) finish(-1, -1, false, true, forked);
+        }
+
+        private void finish(long entries, long outputBytes, boolean skipped, boolean failed, boolean forked) {
+            finished = true;
+            final long wall = System.nanoTime() - startWall;
+            final long cpu = THREADS.getCurrentThreadCpuTime() - startCpu;
+            final long allocated = THREADS.getCurrentThreadAllocatedBytes() - startAllocated;
+            event.end();
+            if (event.shouldCommit()) {
+                if (event instanceof GenerateEvent generate) {
+                    generate.name = name;
+                    if (!forked) {
+                        generate.cpuTime = cpu;
+                        generate.allocatedBytes = allocated;
+                    }
+                    generate.entries = entries;
+                    generate.outputBytes = outputBytes;
+                    generate.skipped = skipped;
+                    generate.failed = failed;
+                    generate.forked = forked;
+                } else if (event instanceof PhaseEvent phaseEvent) {
+                    phaseEvent.name = name;
+                    phaseEvent.cpuTime = cpu;
+                    phaseEvent.allocatedBytes = allocated;
+                }
+                event.commit();
+            }
+            (phase ? PHASES : GENERATORS).add(new Sample(name, wall, cpu, allocated, entries, outputBytes, skipped, failed, forked));
+        }
+    }
+
+    private record Sample(String name, long wallNanos, long cpuNanos, long allocatedBytes,
+                          long entries, long outputBytes, boolean skipped, boolean failed, boolean forked) {
+    }
+
+    @Name("net.minestom.datagen.Generate")
+    @Label("Data Generator")
+    @Category("Minestom Data")
+    @Description("Generation of a single output file")
+    static final class GenerateEvent extends Event {
+        @Label("Name")
+        String name;
+        @Label("CPU Time")
+        @Timespan
+        long cpuTime;
+        @Label("Allocated")
+        @DataAmount
+        long allocatedBytes;
+        @Label("Entries")
+        long entries;
+        @Label("Output Size")
+        @DataAmount
+        long outputBytes;
+        @Label("Skipped")
+        boolean skipped;
+        @Label("Failed")
+        boolean failed;
+        @Label("Forked")
+        @Description("Work ran on other threads, so CPU time and allocations are not recorded")
+        boolean forked;
+    }
+
+    @Name("net.minestom.datagen.Phase")
+    @Label("Data Generator Phase")
+    @Category("Minestom Data")
+    @Description("Setup work done outside of the generators, such as bootstrapping the game")
+    static final class PhaseEvent extends Event {
+        @Label("Name")
+        String name;
+        @Label("CPU Time")
+        @Timespan
+        long cpuTime;
+        @Label("Allocated")
+        @DataAmount
+        long allocatedBytes;
+    }
+}
@@ -0,0 +1,74 @@
+package net.minestom.datagen;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs generation tasks concurrently, starting each one only once the tasks it depends on have finished.
+ * <p>
+ * Every task writes its own output file, so the result is the same as a sequential run.
+ */
+final class DataGenScheduler implements AutoCloseable {
+    private final ExecutorService executor;
+    private final Map<String, CompletableFuture<Void>> tasks = new LinkedHashMap<>();
+
+    DataGenScheduler(int parallelism) {
+        this.executor = Executors.newWorkStealingPool(parallelism);
+    }
+
+    /**
+     * Schedules a task. Dependencies must have been submitted before the tasks depending on them.
+     *
+     * @param name         the unique name of the task, usually its output file name
+     * @param dependencies the names of the tasks that must complete first
+     * @param task         the work to run
+     */
+    void submit(String name, Collection<String> dependencies, Task task) {
+        if (tasks.containsKey(name)) {
+            throw new IllegalArgumentException("Task '" + name + "' has already been submitted");
+        }
+        CompletableFuture<?>[] required = dependencies.stream()
+                .map(dependency -> {
+                    var future = tasks.get(dependency);
+                    if (future == null) {
+                        throw new IllegalStateException("Task '" + name + "' depends on unknown task '" + dependency + "'");
+                    }
+                    return future;
+                })
+                .toArray(CompletableFuture[]::new);
+        tasks.put(name, CompletableFuture.allOf(required).thenRunAsync(() -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to generate '" + name + "'", e);
+            }
+        }, executor));
+    }
+
+    /**
+     * Waits for every submitted task, rethrowing the first failure.
+     */
+    void await() throws Exception {
+        try {
+            CompletableFuture.allOf(tasks.values().toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Exception cause) throw cause;
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    @FunctionalInterface
+    interface Task {
+        void run() throws Exception;
+    }
+}
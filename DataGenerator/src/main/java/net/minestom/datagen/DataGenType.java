@@ -8,93 +8,145 @@ import net.minestom.generators.loot_tables.ChestLootTableGenerator;
 import net.minestom.generators.loot_tables.EntityLootTableGenerator;
 import net.minestom.generators.loot_tables.GameplayLootTableGenerator;
 
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
 public enum DataGenType {
-    CONSTANTS("constants", new MinecraftConstantGenerator()),
+    CONSTANTS("constants", () -> new MinecraftConstantGenerator()),
+    FORMAT("format", () -> new FormatGenerator()),
     // Tags are specified as a special case in datagen
 
     // Codegen only
 
-    COMMAND_ARGUMENTS("command_arguments", new GenericRegistryArrayGenerator<>(BuiltInRegistries.COMMAND_ARGUMENT_TYPE)),
-    CONSUME_EFFECT("consume_effects", new GenericRegistryArrayGenerator<>(BuiltInRegistries.CONSUME_EFFECT_TYPE)),
-    CUSTOM_STATISTICS("custom_statistics", new CustomStatisticGenerator()),
-    DYE_COLORS("dye_colors", new DyeColorGenerator()),
-    MAP_COLORS("map_colors", new MapColorGenerator()),
-    PARTICLES("particle", new ParticleGenerator()),
-    WORLD_EVENTS("world_events", new WorldEventGenerator()),
-    RECIPE_BOOK_CATEGORY("recipe_book_categories", new GenericRegistryArrayGenerator<>(BuiltInRegistries.RECIPE_BOOK_CATEGORY)),
-    RECIPE_DISPLAY_TYPE("recipe_display_types", new GenericRegistryArrayGenerator<>(BuiltInRegistries.RECIPE_DISPLAY)),
-    RECIPE_TYPE("recipe_types", new GenericRegistryArrayGenerator<>(BuiltInRegistries.RECIPE_TYPE)),
-    SLOT_DISPLAY_TYPE("slot_display_types", new GenericRegistryArrayGenerator<>(BuiltInRegistries.SLOT_DISPLAY)),
-    SOUND_SOURCES("sound_sources", new SoundSourceGenerator()),
-    VILLAGER_TYPES("villager_types", new GenericRegistryArrayGenerator<>(BuiltInRegistries.VILLAGER_TYPE)),
-    BLOCK_ENTITY_TYPES("block_entity_types", new GenericRegistryObjectGenerator<>(BuiltInRegistries.BLOCK_ENTITY_TYPE)),
-    CLOCK_TIME_MARKERS("clock_time_marker", new ClockTimeMarkerGenerator()),
-    GAME_RULES("game_rule", new GameRuleGenerator()),
+    COMMAND_ARGUMENTS("command_arguments", () -> new GenericRegistryArrayGenerator<>(BuiltInRegistries.COMMAND_ARGUMENT_TYPE)),
+    CONSUME_EFFECT("consume_effects", () -> new GenericRegistryArrayGenerator<>(BuiltInRegistries.CONSUME_EFFECT_TYPE)),
+    CUSTOM_STATISTICS("custom_statistics", () -> new CustomStatisticGenerator()),
+    DYE_COLORS("dye_colors", () -> new DyeColorGenerator()),
+    MAP_COLORS("map_colors", () -> new MapColorGenerator()),
+    PARTICLES("particle", () -> new ParticleGenerator()),
+    WORLD_EVENTS("world_events", () -> new WorldEventGenerator()),
+    RECIPE_BOOK_CATEGORY("recipe_book_categories", () -> new GenericRegistryArrayGenerator<>(BuiltInRegistries.RECIPE_BOOK_CATEGORY)),
+    RECIPE_DISPLAY_TYPE("recipe_display_types", () -> new GenericRegistryArrayGenerator<>(BuiltInRegistries.RECIPE_DISPLAY)),
+    RECIPE_TYPE("recipe_types", () -> new GenericRegistryArrayGenerator<>(BuiltInRegistries.RECIPE_TYPE)),
+    SLOT_DISPLAY_TYPE("slot_display_types", () -> new GenericRegistryArrayGenerator<>(BuiltInRegistries.SLOT_DISPLAY)),
+    SOUND_SOURCES("sound_sources", () -> new SoundSourceGenerator()),
+    VILLAGER_TYPES("villager_types", () -> new GenericRegistryArrayGenerator<>(BuiltInRegistries.VILLAGER_TYPE)),
+    BLOCK_ENTITY_TYPES("block_entity_types", () -> new GenericRegistryObjectGenerator<>(BuiltInRegistries.BLOCK_ENTITY_TYPE)),
+    CLOCK_TIME_MARKERS("clock_time_marker", () -> new ClockTimeMarkerGenerator()),
+    GAME_RULES("game_rule", () -> new GameRuleGenerator()),
 
     // Static registries
 
-    ATTRIBUTES("attribute", new AttributeGenerator()),
-    BLOCKS("block", new BlockGenerator()),
-    BLOCK_SOUND_TYPES("block_sound_type", new BlockSoundTypeGenerator()),
-    ENTITIES("entity_type", new EntityGenerator()),
-    FEATURE_FLAGS("feature_flag", new FeatureFlagGenerator()),
-    FLUIDS("fluid", new FluidGenerator()),
-    GAME_EVENTS("game_event", new GameEventGenerator()),
-    MATERIALS("item", new MaterialGenerator()),
-    MOB_EFFECTS("potion_effect", new MobEffectGenerator()),
-    POTIONS("potion_type", new PotionGenerator()),
-    SOUNDS("sound_event", new SoundGenerator()),
-    VILLAGER_PROFESSIONS("villager_profession", new VillagerProfessionGenerator()),
+    ATTRIBUTES("attribute", () -> new AttributeGenerator()),
+    BLOCK_SHAPES("block_shape", () -> new BlockShapeGenerator()),
+    BLOCKS("block", () -> new BlockGenerator(), List.of(BLOCK_SHAPES), BLOCK_ENTITY_TYPES),
+    BLOCK_STATE_TABLES("block_state_table", () -> new BlockStateTableGenerator()),
+    BLOCK_SOUND_TYPES("block_sound_type", () -> new BlockSoundTypeGenerator()),
+    ENTITIES("entity_type", () -> new EntityGenerator()),
+    FEATURE_FLAGS("feature_flag", () -> new FeatureFlagGenerator()),
+    FLUIDS("fluid", () -> new FluidGenerator()),
+    GAME_EVENTS("game_event", () -> new GameEventGenerator()),
+    ITEM_COMPONENTS("item_component", () -> new ItemComponentGenerator()),
+    MATERIALS("item", () -> new MaterialGenerator(), List.of(ITEM_COMPONENTS)),
+    MOB_EFFECTS("potion_effect", () -> new MobEffectGenerator()),
+    POTIONS("potion_type", () -> new PotionGenerator()),
+    SOUNDS("sound_event", () -> new SoundGenerator()),
+    VILLAGER_PROFESSIONS("villager_profession", () -> new VillagerProfessionGenerator()),
 
     // Dynamic Registries
 
-    BANNER_PATTERNS("banner_pattern", new GenericResourceGenerator("banner_pattern")),
-    BIOMES("worldgen/biome", new GenericResourceGenerator("worldgen/biome")),
-    CAT_VARIANTS("cat_variant", new GenericResourceGenerator("cat_variant")),
-    CAT_SOUND_VARIANTS("cat_sound_variant", new GenericResourceGenerator("cat_sound_variant")),
-    CHAT_TYPES("chat_type", new GenericResourceGenerator("chat_type")),
-    CHICKEN_VARIANTS("chicken_variant", new GenericResourceGenerator("chicken_variant")),
-    CHICKEN_SOUND_VARIANTS("chicken_sound_variant", new GenericResourceGenerator("chicken_sound_variant")),
-    COW_VARIANTS("cow_variant", new GenericResourceGenerator("cow_variant")),
-    COW_SOUND_VARIANTS("cow_sound_variant", new GenericResourceGenerator("cow_sound_variant")),
-    DAMAGE_TYPES("damage_type", new GenericResourceGenerator("damage_type")),
-    DIALOGS("dialog", new GenericResourceGenerator("dialog")),
-    DIMENSION_TYPES("dimension_type", new GenericResourceGenerator("dimension_type")),
-    ENCHANTMENTS("enchantment", new GenericResourceGenerator("enchantment")),
-    FROG_VARIANTS("frog_variant", new GenericResourceGenerator("frog_variant")),
-    JUKEBOX_SONGS("jukebox_song", new GenericResourceGenerator("jukebox_song")),
-    INSTRUMENTS("instrument", new GenericResourceGenerator("instrument")),
-    PAINTING_VARIANTS("painting_variant", new GenericResourceGenerator("painting_variant")),
-    PIG_VARIANTS("pig_variant", new GenericResourceGenerator("pig_variant")),
-    PIG_SOUND_VARIANTS("pig_sound_variant", new GenericResourceGenerator("pig_sound_variant")),
-    TIMELINE("timeline", new GenericResourceGenerator("timeline")),
-    TRIM_MATERIALS("trim_material", new GenericResourceGenerator("trim_material")),
-    TRIM_PATTERNS("trim_pattern", new GenericResourceGenerator("trim_pattern")),
-    WOLF_VARIANTS("wolf_variant", new GenericResourceGenerator("wolf_variant")),
-    WOLF_SOUND_VARIANTS("wolf_sound_variant", new GenericResourceGenerator("wolf_sound_variant")),
-    ZOMBIE_NAUTILUS_VARIANTS("zombie_nautilus_variant", new GenericResourceGenerator("zombie_nautilus_variant")),
-    WORLD_CLOCKS("world_clock", new GenericResourceGenerator("world_clock")),
+    BANNER_PATTERNS("banner_pattern", () -> new GenericResourceGenerator("banner_pattern")),
+    BIOMES("worldgen/biome", () -> new GenericResourceGenerator("worldgen/biome")),
+    CAT_VARIANTS("cat_variant", () -> new GenericResourceGenerator("cat_variant")),
+    CAT_SOUND_VARIANTS("cat_sound_variant", () -> new GenericResourceGenerator("cat_sound_variant")),
+    CHAT_TYPES("chat_type", () -> new GenericResourceGenerator("chat_type")),
+    CHICKEN_VARIANTS("chicken_variant", () -> new GenericResourceGenerator("chicken_variant")),
+    CHICKEN_SOUND_VARIANTS("chicken_sound_variant", () -> new GenericResourceGenerator("chicken_sound_variant")),
+    COW_VARIANTS("cow_variant", () -> new GenericResourceGenerator("cow_variant")),
+    COW_SOUND_VARIANTS("cow_sound_variant", () -> new GenericResourceGenerator("cow_sound_variant")),
+    DAMAGE_TYPES("damage_type", () -> new GenericResourceGenerator("damage_type")),
+    DIALOGS("dialog", () -> new GenericResourceGenerator("dialog")),
+    DIMENSION_TYPES("dimension_type", () -> new GenericResourceGenerator("dimension_type")),
+    ENCHANTMENTS("enchantment", () -> new GenericResourceGenerator("enchantment")),
+    FROG_VARIANTS("frog_variant", () -> new GenericResourceGenerator("frog_variant")),
+    JUKEBOX_SONGS("jukebox_song", () -> new GenericResourceGenerator("jukebox_song")),
+    INSTRUMENTS("instrument", () -> new GenericResourceGenerator("instrument")),
+    PAINTING_VARIANTS("painting_variant", () -> new GenericResourceGenerator("painting_variant")),
+    PIG_VARIANTS("pig_variant", () -> new GenericResourceGenerator("pig_variant")),
+    PIG_SOUND_VARIANTS("pig_sound_variant", () -> new GenericResourceGenerator("pig_sound_variant")),
+    TIMELINE("timeline", () -> new GenericResourceGenerator("timeline")),
+    TRIM_MATERIALS("trim_material", () -> new GenericResourceGenerator("trim_material")),
+    TRIM_PATTERNS("trim_pattern", () -> new GenericResourceGenerator("trim_pattern")),
+    WOLF_VARIANTS("wolf_variant", () -> new GenericResourceGenerator("wolf_variant")),
+    WOLF_SOUND_VARIANTS("wolf_sound_variant", () -> new GenericResourceGenerator("wolf_sound_variant")),
+    ZOMBIE_NAUTILUS_VARIANTS("zombie_nautilus_variant", () -> new GenericResourceGenerator("zombie_nautilus_variant")),
+    WORLD_CLOCKS("world_clock", () -> new GenericResourceGenerator("world_clock")),
 
     // Loot tables (only included for legacy reasons, Minestom doesn't use them)
 
-    BLOCK_LOOT_TABLES("loot_tables/block_loot_tables", new BlockLootTableGenerator()),
-    CHEST_LOOT_TABLES("loot_tables/chest_loot_tables", new ChestLootTableGenerator()),
-    ENTITY_LOOT_TABLES("loot_tables/entity_loot_tables", new EntityLootTableGenerator()),
-    GAMEPLAY_LOOT_TABLES("loot_tables/gameplay_loot_tables", new GameplayLootTableGenerator());
+    BLOCK_LOOT_TABLES("loot_tables/block_loot_tables", () -> new BlockLootTableGenerator()),
+    CHEST_LOOT_TABLES("loot_tables/chest_loot_tables", () -> new ChestLootTableGenerator()),
+    ENTITY_LOOT_TABLES("loot_tables/entity_loot_tables", () -> new EntityLootTableGenerator()),
+    GAMEPLAY_LOOT_TABLES("loot_tables/gameplay_loot_tables", () -> new GameplayLootTableGenerator());
 
     private final String fileName;
-    private final DataGenerator generator;
+    private final Supplier<DataGenerator> generator;
+    private final List<DataGenType> dependencies;
+    private final List<DataGenType> references;
+
+    /**
+     * @param dependencies the types which must be generated before this one, only earlier constants can be referenced
+     */
+    DataGenType(String fileName, Supplier<DataGenerator> generator, DataGenType... dependencies) {
+        this(fileName, generator, List.of(), dependencies);
+    }
 
-    DataGenType(String fileName, DataGenerator generator) {
+    /**
+     * @param references   the types whose output this one refers to by index, always generated together with it
+     * @param dependencies the types which must be generated before this one, only earlier constants can be referenced
+     */
+    DataGenType(String fileName, Supplier<DataGenerator> generator, List<DataGenType> references, DataGenType... dependencies) {
         this.fileName = fileName;
         this.generator = generator;
+        this.references = references;
+        this.dependencies = Stream.concat(references.stream(), Stream.of(dependencies)).distinct().toList();
     }
 
     public String getFileName() {
         return fileName;
     }
 
-    public DataGenerator getGenerator() {
-        return generator;
+    /**
+     * Creates the generator, its class is only loaded at this point.
+     */
+    public DataGenerator createGenerator() {
+        return generator.get();
+    }
+
+    /**
+     * @return the types which must be generated before this one, including its references
+     */
+    public List<DataGenType> getDependencies() {
+        return dependencies;
+    }
+
+    public List<DataGenType> getReferences() {
+        return references;
+    }
+
+    /**
+     * @return the version of the layout of the output, incremented on every breaking change, see {@code format.json}
+     */
+    public int getFormatVersion() {
+        return switch (this) {
+            // Shapes became indices into block_shape.json
+            case BLOCKS -> 2;
+            // Components became indices into item_component.json
+            case MATERIALS -> 2;
+            // Became a binary file, block_state_table.bin
+            case BLOCK_STATE_TABLES -> 2;
+            default -> 1;
+        };
     }
 }
\ No newline at end of file
@@ -3,7 +3,6 @@ package net.minestom.datagen;
 import com.google.gson.JsonObject;
 import com.google.gson.stream.JsonReader;
 import net.minecraft.SharedConstants;
-import net.minecraft.data.Main;
 import net.minecraft.server.Bootstrap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,34 +11,63 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 public abstract class DataGenerator {
     private static final Logger LOGGER = LoggerFactory.getLogger(DataGenerator.class);
-    protected static final Path DATA_FOLDER;
-    protected static final Path LOOT_TABLES_FOLDER;
-    protected static final Path TAGS_FOLDER;
+    private static final int MAX_OPEN_FILES = 64;
+    private static final Semaphore OPEN_FILES = new Semaphore(MAX_OPEN_FILES);
 
     static {
         SharedConstants.tryDetectVersion();
         Bootstrap.bootStrap();
-        // Create a temp file, run Mojang's data generator and "recompile" that data.
-        Path tempDir;
-        try {
-            tempDir = Files.createTempDirectory("mojang_gen_data");
-            Main.main(new String[]{
-                    "--all",
-                    "--output=" + tempDir
-            });
-            DATA_FOLDER = tempDir.resolve("data").resolve("minecraft");
-            LOOT_TABLES_FOLDER = DATA_FOLDER.resolve("loot_table");
-            TAGS_FOLDER = DATA_FOLDER.resolve("tags");
-        } catch (IOException e) {
-            LOGGER.error("Something went wrong while running Mojang's data generator.", e);
-            throw new RuntimeException("Couldn't run the generator");
-        }
     }
 
-    public abstract Object/*JsonElement, String*/ generate() throws Exception;
+    private DataGenContext context;
+    private volatile boolean forked;
+
+    /**
+     * Binds the generator to the run it is part of, before it generates anything.
+     */
+    void bind(DataGenContext context) {
+        this.context = context;
+    }
+
+    /**
+     * @return the state shared with the other generators of the run
+     */
+    protected DataGenContext context() {
+        return context != null ? context : DataGenContext.standalone();
+    }
+
+    /**
+     * Marks that the generator hands work off to other threads, whose CPU time and allocations are not measured.
+     */
+    protected void markForked() {
+        forked = true;
+    }
+
+    boolean hasForked() {
+        return forked;
+    }
+
+    protected Path dataFolder() {
+        return context().dataFolder();
+    }
+
+    protected Path lootTablesFolder() {
+        return context().lootTablesFolder();
+    }
+
+    protected Path tagsFolder() {
+        return context().tagsFolder();
+    }
+
+    public abstract Object/*JsonElement, String, byte[]*/ generate() throws Exception;
 
     protected void addDefaultable(JsonObject jsonObject, String key, boolean value, boolean defaultValue) {
         if (value != defaultValue) jsonObject.addProperty(key, value);
@@ -53,25 +81,48 @@ public abstract class DataGenerator {
         if (Double.compare(value, defaultValue) != 0) jsonObject.addProperty(key, value);
     }
 
+    /**
+     * Merges every json file below a directory into one object, keyed by {@code minecraft:<relative path>}.
+     * <p>
+     * Files are parsed in parallel, with at most {@link #MAX_OPEN_FILES} open at once across all generators,
+     * and added in path order so that the output does not depend on the file system.
+     */
     protected JsonObject mergePath(Path directory) {
         final JsonObject result = new JsonObject();
-        try {
-            Files.walk(directory).filter(Files::isRegularFile)
-                    .forEach(path -> {
-                        try {
-                            JsonObject blockLootTable = DataGen.GSON.fromJson(new JsonReader(Files.newBufferedReader(path)), JsonObject.class);
-                            final String fileName = directory.relativize(path).toString();
-                            final String tableName = (File.separatorChar == '\\' ? fileName.replace('\\', '/') : fileName)
-                                    .replace(".json", "");
-                            result.add("minecraft:" + tableName, blockLootTable);
-                        } catch (IOException e) {
-                            LOGGER.error("Failed to read block loot table located at '" + path + "'.", e);
-                            e.printStackTrace();
-                        }
-                    });
+        final List<Path> files;
+        try (Stream<Path> walk = Files.walk(directory)) {
+            files = walk.filter(Files::isRegularFile)
+                    .filter(path -> path.toString().endsWith(".json"))
+                    .sorted(Comparator.comparing(path -> entryName(directory, path)))
+                    .toList();
         } catch (IOException e) {
-            e.printStackTrace();
+            LOGGER.error("Failed to list the files located in '" + directory + "'.", e);
+            return result;
+        }
+
+        final JsonObject[] parsed = new JsonObject[files.size()];
+        markForked();
+        IntStream.range(0, files.size()).parallel().forEach(i -> {
+            final Path path = files.get(i);
+            OPEN_FILES.acquireUninterruptibly();
+            try (JsonReader reader = new JsonReader(Files.newBufferedReader(path))) {
+                parsed[i] = DataGen.GSON.fromJson(reader, JsonObject.class);
+            } catch (IOException e) {
+                LOGGER.error("Failed to read the file located at '" + path + "'.", e);
+            } finally {
+                OPEN_FILES.release();
+            }
+        });
+        for (int i = 0; i < parsed.length; i++) {
+            if (parsed[i] == null) continue;
+            result.add("minecraft:" + entryName(directory, files.get(i)), parsed[i]);
         }
         return result;
     }
+
+    private static String entryName(Path directory, Path file) {
+        final String fileName = directory.relativize(file).toString();
+        return (File.separatorChar == '\\' ? fileName.replace('\\', '/') : fileName)
+                .replace(".json", "");
+    }
 }
@@ -0,0 +1,128 @@
+package net.minestom.datagen;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.data.Main;
+import net.minecraft.server.MinecraftServer;
+import net.minestom.utils.HashUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the output of Mojang's data generator between runs.
+ * <p>
+ * Only the server providers are run, as the tags and loot tables are all that is read from the output.
+ * <p>
+ * Entries are keyed by the game version and a hash of the server jar, so a different jar for the same version
+ * (e.g. after a mapping change) is regenerated. Entries for any other key are removed once a new one is created,
+ * other files in the folder are left alone. Runs sharing the folder hold a lock on it while loading.
+ * The location can be changed with the {@code minestom.datagen.cache} system property.
+ */
+final class MojangDataCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MojangDataCache.class);
+    private static final Path ROOT = Path.of(System.getProperty("minestom.datagen.cache",
+            Path.of(System.getProperty("user.home"), ".cache", "minestom-datagen").toString()));
+    private static final String STAGING_SUFFIX = ".partial";
+    private static final String LOCK_FILE = ".lock";
+    // <version>-<jar hash>, as created by load
+    private static final Pattern ENTRY = Pattern.compile(".+-[0-9a-f]{16}");
+    private static String serverJarHash;
+
+    private MojangDataCache() {}
+
+    /**
+     * Gets the folder containing Mojang's generated data for the current server, running the generator if needed.
+     *
+     * @return the root of the generator output (containing {@code data/minecraft})
+     */
+    static synchronized Path load() throws IOException {
+        final String key = key();
+        final Path target = ROOT.resolve(key);
+        Files.createDirectories(ROOT);
+        // Other processes (e.g. a second Gradle daemon) may be generating or cleaning up at the same time
+        try (FileChannel lockChannel = FileChannel.open(ROOT.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = lockChannel.lock()) {
+            if (Files.isDirectory(target)) {
+                LOGGER.info("Reusing Mojang generated data from '{}'.", target);
+                return target;
+            }
+
+            LOGGER.info("Running Mojang's data generator into '{}'.", target);
+            final Path staging = ROOT.resolve(key + STAGING_SUFFIX);
+            delete(staging);
+            Files.createDirectories(staging);
+            final var measurement = DataGenMetrics.phase("mojang_datagen");
+            try {
+                Main.main(new String[]{
+                        "--server",
+                        "--output=" + staging
+                });
+            } finally {
+                measurement.finish();
+            }
+            Files.move(staging, target, StandardCopyOption.ATOMIC_MOVE);
+
+            try (Stream<Path> entries = Files.list(ROOT)) {
+                for (Path entry : entries.toList()) {
+                    if (entry.equals(target) || !Files.isDirectory(entry, LinkOption.NOFOLLOW_LINKS)) continue;
+                    if (!ENTRY.matcher(entry.getFileName().toString()).matches()) continue;
+                    LOGGER.info("Removing outdated Mojang generated data '{}'.", entry);
+                    delete(entry);
+                }
+            }
+            return target;
+        }
+    }
+
+    /**
+     * Gets the folder {@link #load} returns if it was already generated, without running the generator.
+     * Entries are moved into place once complete, so no lock is needed to find one.
+     *
+     * @return the root of the generator output, or null if it is not cached
+     */
+    static Path cached() throws IOException {
+        final Path target = ROOT.resolve(key());
+        return Files.isDirectory(target) ? target : null;
+    }
+
+    private static String key() throws IOException {
+        return SharedConstants.getCurrentVersion().id() + "-" + serverJarHash().substring(0, 16);
+    }
+
+    /**
+     * Hashes the jar the server classes were loaded from, once per run.
+     *
+     * @return the hex encoded SHA-256 hash of the server jar
+     */
+    static synchronized String serverJarHash() throws IOException {
+        if (serverJarHash == null) serverJarHash = HashUtils.hashCodeSource(MinecraftServer.class);
+        return serverJarHash;
+    }
+
+    private static void delete(Path path) throws IOException {
+        if (!Files.exists(path)) return;
+        try (Stream<Path> walk = Files.walk(path)) {
+            walk.sorted(Comparator.reverseOrder()).forEach(file -> {
+                try {
+                    Files.delete(file);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package net.minestom.datagen;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * A generator which writes its entries to the output as they are produced, so only one entry is held in memory.
+ * <p>
+ * The output must be exactly what {@link DataGen#GSON} would write for the equivalent tree.
+ */
+public abstract class StreamingDataGenerator extends DataGenerator {
+    private long entryCount;
+
+    /**
+     * Writes the complete output, usually a single object with one member per registry entry.
+     *
+     * @param writer the writer, configured like {@link DataGen#GSON}
+     */
+    public abstract void generate(JsonWriter writer) throws Exception;
+
+    /**
+     * Whether {@link #generate(JsonWriter)} can be used, generators supporting other formats can return false
+     * to be written from {@link #generate()} instead.
+     */
+    public boolean isStreaming() {
+        return true;
+    }
+
+    /**
+     * Builds the full tree, only meant for callers which really need it.
+     */
+    @Override
+    public Object generate() throws Exception {
+        StringWriter out = new StringWriter();
+        generate(DataGen.GSON.newJsonWriter(out));
+        return JsonParser.parseString(out.toString());
+    }
+
+    protected void writeEntry(JsonWriter writer, String key, JsonElement value) throws IOException {
+        writer.name(key);
+        DataGen.GSON.toJson(value, writer);
+        entryCount++;
+    }
+
+    /**
+     * @return the number of entries written through {@link #writeEntry(JsonWriter, String, JsonElement)}
+     */
+    public long entryCount() {
+        return entryCount;
+    }
+}
@@ -1,121 +1,191 @@
 package net.minestom.generators;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.registries.BuiltInRegistries;
-import net.minecraft.resources.Identifier;
 import net.minecraft.world.item.Item;
-import net.minecraft.world.level.EmptyBlockGetter;
 import net.minecraft.world.level.block.*;
-import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockState;
-import net.minecraft.world.phys.shapes.CollisionContext;
-import net.minestom.datagen.DataGenerator;
-import org.jetbrains.annotations.NotNull;
+import net.minecraft.world.level.block.state.properties.Property;
+import net.minestom.datagen.StreamingDataGenerator;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.io.IOException;
 import java.lang.reflect.Modifier;
 import java.util.*;
+import java.util.concurrent.ForkJoinTask;
 import java.util.stream.Collectors;
 
-public final class BlockGenerator extends DataGenerator {
+public final class BlockGenerator extends StreamingDataGenerator {
+    // Blocks generated ahead of the one being written, enough to keep every core busy without holding every block
+    private static final int WINDOW = Runtime.getRuntime().availableProcessors() * 4;
+
+    /**
+     * Blocks are generated in parallel on the fork join pool and written in registry order.
+     * <p>
+     * Generating a block only reads the bootstrapped game: block states and their shape caches, the fire block's
+     * burn odds (through {@code canBurn}) and {@link Item#BY_BLOCK} are all immutable by then. The shared state of the
+     * generator itself (block entities and the state data shared with {@link BlockStateTableGenerator}) is read-only.
+     */
     @Override
-    public JsonObject generate() {
-        JsonObject blocks = new JsonObject();
+    public void generate(JsonWriter writer) throws IOException {
+        var registry = BuiltInRegistries.BLOCK;
+        var blockEntities = getBlockEntities();
+        final BlockStateData[] states = BlockStateData.all(context());
+        final List<Block> blocks = registry.stream().toList();
+
+        final Deque<ForkJoinTask<JsonObject>> pending = new ArrayDeque<>();
+        int next = 0;
+        markForked();
+        writer.beginObject();
+        for (Block block : blocks) {
+            while (next < blocks.size() && pending.size() < WINDOW) {
+                final Block toGenerate = blocks.get(next++);
+                pending.add(ForkJoinTask.adapt(() -> generateBlock(toGenerate, blockEntities, states)).fork());
+            }
+            writeEntry(writer, registry.getKey(block).toString(), pending.removeFirst().join());
+        }
+        writer.endObject();
+    }
+
+    private JsonObject generateBlock(Block block, Map<Block, JsonObject> blockEntities, BlockStateData[] states) {
         var registry = BuiltInRegistries.BLOCK;
         var itemRegistry = BuiltInRegistries.ITEM;
-        var blockEntityTypeRegistry = BuiltInRegistries.BLOCK_ENTITY_TYPE;
-        var blockSoundTypes = getBlockSoundTypeList();
-        for (var block : registry) {
-            final var location = registry.getKey(block);
-            final var defaultBlockState = block.defaultBlockState();
-
-            JsonObject blockJson = new JsonObject();
-            blockJson.addProperty("id", registry.getId(block));
-            blockJson.addProperty("translationKey", block.getDescriptionId());
-            blockJson.addProperty("explosionResistance", block.getExplosionResistance());
-            blockJson.addProperty("friction", block.getFriction());
-            addDefaultable(blockJson, "speedFactor", block.getSpeedFactor(), 1f);
-            addDefaultable(blockJson, "jumpFactor", block.getJumpFactor(), 1f);
-            blockJson.addProperty("defaultStateId", Block.BLOCK_STATE_REGISTRY.getId(defaultBlockState));
-            addDefaultable(blockJson, "gravity", block instanceof FallingBlock, false);
-            // Corresponding item
-            Item correspondingItem = Item.BY_BLOCK.get(block);
-            if (correspondingItem != null) { // Default = no item
-                blockJson.addProperty("correspondingItem", itemRegistry.getKey(correspondingItem).toString());
+        final var location = registry.getKey(block);
+        final var defaultBlockState = block.defaultBlockState();
+
+        JsonObject blockJson = new JsonObject();
+        blockJson.addProperty("id", registry.getId(block));
+        blockJson.addProperty("translationKey", block.getDescriptionId());
+        blockJson.addProperty("explosionResistance", block.getExplosionResistance());
+        blockJson.addProperty("friction", block.getFriction());
+        addDefaultable(blockJson, "speedFactor", block.getSpeedFactor(), 1f);
+        addDefaultable(blockJson, "jumpFactor", block.getJumpFactor(), 1f);
+        blockJson.addProperty("defaultStateId", Block.BLOCK_STATE_REGISTRY.getId(defaultBlockState));
+        blockJson.addProperty("minStateId", Block.BLOCK_STATE_REGISTRY.getId(block.getStateDefinition().getPossibleStates().getFirst()));
+        addDefaultable(blockJson, "gravity", block instanceof FallingBlock, false);
+        // Corresponding item
+        Item correspondingItem = Item.BY_BLOCK.get(block);
+        if (correspondingItem != null) { // Default = no item
+            blockJson.addProperty("correspondingItem", itemRegistry.getKey(correspondingItem).toString());
+        }
+        // Random offset
+        if (defaultBlockState.hasOffsetFunction()) {
+            blockJson.addProperty("maxHorizontalOffset", block.getMaxHorizontalOffset());
+
+            // There are only XY and XYZ offset functions, so we simply execute the offset func
+            // and check if the Y value is 0. It is seeded to the coordinates, so it should be reliable.
+            var result = defaultBlockState.getOffset(new BlockPos(42, 42, 42));
+            if (result.y != 0) {
+                blockJson.addProperty("maxVerticalOffset", block.getMaxVerticalOffset());
             }
-            // Random offset
-            if (defaultBlockState.hasOffsetFunction()) {
-                blockJson.addProperty("maxHorizontalOffset", block.getMaxHorizontalOffset());
-
-                // There are only XY and XYZ offset functions, so we simply execute the offset func
-                // and check if the Y value is 0. It is seeded to the coordinates, so it should be reliable.
-                var result = defaultBlockState.getOffset(new BlockPos(42, 42, 42));
-                if (result.y != 0) {
-                    blockJson.addProperty("maxVerticalOffset", block.getMaxVerticalOffset());
+        }
+        // Default values
+        // This is a bad special case for light blocks. minecraft:light[level=0] has an emission value of 0, but the default
+        // state has an emission value of 15 meaning if this is omitted light 0 will have an emission of 15.
+        // Switch to include it no matter what in this case.
+        final boolean alwaysEmitsLight = location.toString().equals("minecraft:light");
+        final BlockStateData defaultData = states[Block.BLOCK_STATE_REGISTRY.getId(defaultBlockState)];
+        defaultData.write(blockJson, null, alwaysEmitsLight);
+        {
+            // List of properties
+            JsonObject properties = new JsonObject();
+            for (var property : block.getStateDefinition().getProperties()) {
+                JsonArray values = new JsonArray();
+                final String key = property.getName();
+                for (var value : property.getPossibleValues()) {
+                    values.add(value.toString().toLowerCase(Locale.ROOT));
                 }
+                properties.add(key, values);
             }
-            // Default values
-            writeState(location, block, blockSoundTypes, defaultBlockState, null, blockJson);
-            {
-                // List of properties
-                JsonObject properties = new JsonObject();
-                for (var property : block.getStateDefinition().getProperties()) {
-                    JsonArray values = new JsonArray();
-                    final String key = property.getName();
-                    for (var value : property.getPossibleValues()) {
-                        values.add(value.toString().toLowerCase(Locale.ROOT));
-                    }
-                    properties.add(key, values);
-                }
-                if (properties.size() > 0) {
-                    blockJson.add("properties", properties);
-                }
+            if (properties.size() > 0) {
+                blockJson.add("properties", properties);
+                JsonArray strides = new JsonArray();
+                for (int stride : stateStrides(block)) strides.add(stride);
+                blockJson.add("propertyStrides", strides);
             }
-            // Block states
-            JsonObject blockStates = new JsonObject();
-            for (BlockState bs : block.getStateDefinition().getPossibleStates()) {
-                JsonObject state = new JsonObject();
-                state.addProperty("stateId", Block.BLOCK_STATE_REGISTRY.getId(bs));
-                writeState(location, block, blockSoundTypes, bs, blockJson, state);
-
-                //[property=value,property2=value2,...]
-                String stateName = bs.getValues()
-                        .map(v -> v.toString().toLowerCase(Locale.ROOT))
-                        .collect(Collectors.joining(",", "[", "]"));
-
-                blockStates.add(stateName, state);
+        }
+        // Block states
+        JsonObject blockStates = new JsonObject();
+        for (BlockState bs : block.getStateDefinition().getPossibleStates()) {
+            JsonObject state = new JsonObject();
+            final int stateId = Block.BLOCK_STATE_REGISTRY.getId(bs);
+            state.addProperty("stateId", stateId);
+            states[stateId].write(state, defaultData, alwaysEmitsLight);
+
+            //[property=value,property2=value2,...]
+            String stateName = bs.getValues()
+                    .map(v -> v.toString().toLowerCase(Locale.ROOT))
+                    .collect(Collectors.joining(",", "[", "]"));
+
+            blockStates.add(stateName, state);
+        }
+        blockJson.add("states", blockStates);
+        // Block entity
+        JsonObject blockEntityObject = blockEntities.get(block);
+        if (blockEntityObject != null) {
+            blockJson.add("blockEntity", blockEntityObject);
+        }
+        return blockJson;
+    }
+
+    /**
+     * Vanilla numbers the states of a block in mixed radix order over its properties (sorted by name, the last one
+     * changing fastest), so a state id is {@code minStateId + sum(ordinal * stride)} where the ordinal is the index of
+     * the value in the property's value list. Changing a property is then
+     * {@code stateId + (newOrdinal - oldOrdinal) * stride}.
+     *
+     * @return the stride of each property, in the order of {@code getProperties()}
+     * @throws IllegalStateException if a state id does not follow that layout
+     */
+    private static int[] stateStrides(Block block) {
+        final var definition = block.getStateDefinition();
+        final List<Property<?>> properties = List.copyOf(definition.getProperties());
+        final int[] strides = new int[properties.size()];
+        int stride = 1;
+        for (int i = properties.size() - 1; i >= 0; i--) {
+            strides[i] = stride;
+            stride *= properties.get(i).getPossibleValues().size();
+        }
+        final int base = Block.BLOCK_STATE_REGISTRY.getId(definition.getPossibleStates().getFirst());
+        for (BlockState state : definition.getPossibleStates()) {
+            int expected = base;
+            for (int i = 0; i < properties.size(); i++) {
+                expected += ordinal(state, properties.get(i)) * strides[i];
+            }
+            final int actual = Block.BLOCK_STATE_REGISTRY.getId(state);
+            if (actual != expected) {
+                throw new IllegalStateException("State " + state + " has id " + actual + ", expected " + expected + " from the property strides");
             }
-            blockJson.add("states", blockStates);
-            blocks.add(location.toString(), blockJson);
         }
-        // Add block entity
+        return strides;
+    }
+
+    private static <T extends Comparable<T>> int ordinal(BlockState state, Property<T> property) {
+        return property.getPossibleValues().indexOf(state.getValue(property));
+    }
+
+    /**
+     * Computed up front so that every block can be written as soon as it is generated.
+     * When a block is valid for several types, the last one in the registry wins.
+     */
+    private Map<Block, JsonObject> getBlockEntities() {
+        Map<Block, JsonObject> blockEntities = new IdentityHashMap<>();
+        var blockEntityTypeRegistry = BuiltInRegistries.BLOCK_ENTITY_TYPE;
         for (var blockEntityType : blockEntityTypeRegistry) {
             final var location = blockEntityTypeRegistry.getKey(blockEntityType);
-            try {
-                Field fcField = BlockEntityType.class.getDeclaredField("validBlocks");
-                fcField.setAccessible(true);
-                for (Block validBlock : (Set<Block>) fcField.get(blockEntityType)) {
-                    final String namespace = registry.getKey(validBlock).toString();
-                    final JsonObject blockJson = blocks.get(namespace).getAsJsonObject();
-
-                    JsonObject blockEntityObject = new JsonObject();
-                    blockEntityObject.addProperty("namespace", location.toString());
-                    blockEntityObject.addProperty("id", blockEntityTypeRegistry.getId(blockEntityType));
-                    blockJson.add("blockEntity", blockEntityObject);
-                }
-            } catch (IllegalAccessException | NoSuchFieldException e) {
-                e.printStackTrace();
+            for (Block validBlock : blockEntityType.validBlocks) {
+                JsonObject blockEntityObject = new JsonObject();
+                blockEntityObject.addProperty("namespace", location.toString());
+                blockEntityObject.addProperty("id", blockEntityTypeRegistry.getId(blockEntityType));
+                blockEntities.put(validBlock, blockEntityObject);
             }
         }
-        return blocks;
+        return blockEntities;
     }
 
-    private Map<String, SoundType> getBlockSoundTypeList() {
+    private static Map<String, SoundType> getBlockSoundTypeList() {
         Map<String, SoundType> soundTypes = new HashMap<>();
         try {
             for (var field : SoundType.class.getDeclaredFields()) {
@@ -131,93 +201,14 @@ public final class BlockGenerator extends DataGenerator {
         return soundTypes;
     }
 
-    private void writeState(Identifier location, Block block, Map<String, SoundType> soundTypes, BlockState blockState, JsonObject blockJson, JsonObject state) {
-        // Data
-        appendState(blockJson, state, "canRespawnIn", block.isPossibleToRespawnInThis(blockState), boolean.class);
-        appendState(blockJson, state, "hardness", blockState.getDestroySpeed(EmptyBlockGetter.INSTANCE, BlockPos.ZERO), float.class);
-        if (location.toString().equals("minecraft:light")) {
-            // This is a bad special case for light blocks. minecraft:light[level=0] has an emission value of 0, but the default
-            // state has an emission value of 15 meaning if this is omitted light 0 will have an emission of 15.
-            // Switch to include it no matter what in this case.
-            appendState(blockJson, state, "lightEmission", blockState.getLightEmission(), int.class);
-        } else {
-            appendState(blockJson, state, "lightEmission", blockState.getLightEmission(), 0, int.class);
-        }
-        appendState(blockJson, state, "pushReaction", blockState.getPistonPushReaction().name(), String.class);
-        appendState(blockJson, state, "mapColorId", blockState.getMapColor(EmptyBlockGetter.INSTANCE, BlockPos.ZERO).id, int.class);
-        appendState(blockJson, state, "occludes", blockState.canOcclude(), boolean.class);
-        appendState(blockJson, state, "requiresTool", blockState.requiresCorrectToolForDrops(), boolean.class);
-
-        appendState(blockJson, state, "blocksMotion", blockState.blocksMotion(), boolean.class);
-        appendState(blockJson, state, "flammable", isFlammable(blockState), boolean.class);
-        appendState(blockJson, state, "air", blockState.isAir(), false, boolean.class);
-        appendState(blockJson, state, "liquid", blockState.liquid(), false, boolean.class);
-        appendState(blockJson, state, "replaceable", blockState.canBeReplaced(), false, boolean.class);
-        appendState(blockJson, state, "solid", blockState.isSolid(), boolean.class);
-        appendState(blockJson, state, "solidBlocking", blockState.blocksMotion(), boolean.class);
-        appendState(blockJson, state, "lightBlock", blockState.getLightDampening(), int.class);
-        // Sounds
-        SoundType soundType = blockState.getSoundType();
-        for (var entry : soundTypes.entrySet()) {
-            if (soundType.equals(entry.getValue())) {
-                appendState(blockJson, state, "soundType", entry.getKey(), String.class);
-                break;
-            }
-        }
-        // Shapes (Hit-boxes)
-        appendState(blockJson, state, "shape", blockState.getShape(EmptyBlockGetter.INSTANCE, BlockPos.ZERO).toAabbs().toString(), String.class);
-        appendState(blockJson, state, "collisionShape", blockState.getCollisionShape(EmptyBlockGetter.INSTANCE, BlockPos.ZERO).toAabbs().toString(), String.class);
-        appendState(blockJson, state, "interactionShape", blockState.getInteractionShape(EmptyBlockGetter.INSTANCE, BlockPos.ZERO).toAabbs().toString(), String.class);
-        appendState(blockJson, state, "occlusionShape", blockState.getOcclusionShape().toAabbs().toString(), String.class);
-        appendState(blockJson, state, "visualShape", blockState.getVisualShape(EmptyBlockGetter.INSTANCE, BlockPos.ZERO, CollisionContext.empty()).toAabbs().toString(), String.class);
-
-        // Redstone bits
-        appendState(blockJson, state, "redstoneConductor", blockState.isRedstoneConductor(EmptyBlockGetter.INSTANCE, BlockPos.ZERO), boolean.class);
-        appendState(blockJson, state, "signalSource", blockState.isSignalSource(), false, boolean.class);
-    }
-
-    private <T> void appendState(JsonObject main, JsonObject state, String key, T value, T defaultValue, Class<T> valueType) {
-        if (Objects.equals(value, defaultValue))
-            return;
-        Gson gson = new Gson();
-        if (main == null || !Objects.equals(value, gson.fromJson(main.get(key), valueType))) {
-            if (value instanceof String s) {
-                state.addProperty(key, s);
-            } else if (value instanceof Integer i) {
-                state.addProperty(key, i);
-            } else if (value instanceof Double d) {
-                state.addProperty(key, d);
-            } else if (value instanceof Float f) {
-                state.addProperty(key, f);
-            } else if (value instanceof Boolean b) {
-                state.addProperty(key, b);
-            } else {
-                throw new IllegalStateException("Type " + valueType + " cannot be added to the json");
-            }
-        }
-    }
-
-    private <T> void appendState(JsonObject main, JsonObject state, String key, T value, Class<T> valueType) {
-        appendState(main, state, key, value, null, valueType);
-    }
-
-    private static final FireBlock fireBlock = (FireBlock) Blocks.FIRE;
-    private static final Method canBurn;
-
-    private static boolean isFlammable(@NotNull BlockState blockState) {
-        try {
-            return (boolean) canBurn.invoke(fireBlock, blockState);
-        } catch (InvocationTargetException | IllegalAccessException e) {
-            throw new RuntimeException(e);
-        }
-    }
-
-    static {
-        try {
-            canBurn = FireBlock.class.getDeclaredMethod("canBurn", BlockState.class);
-            canBurn.setAccessible(true);
-        } catch (NoSuchMethodException e) {
-            throw new RuntimeException(e);
+    /**
+     * Indexes the sound types by identity, keeping the first name in iteration order when a sound type has several.
+     */
+    static Map<SoundType, String> getBlockSoundTypeNames() {
+        Map<SoundType, String> names = new IdentityHashMap<>();
+        for (var entry : getBlockSoundTypeList().entrySet()) {
+            names.putIfAbsent(entry.getValue(), entry.getKey());
         }
+        return names;
     }
 }
@@ -0,0 +1,63 @@
+package net.minestom.generators;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import net.minecraft.world.phys.AABB;
+import net.minestom.datagen.DataGenerator;
+
+import java.util.List;
+
+/**
+ * Writes the shape palette referenced by index from the shapes of every state in {@code block.json}.
+ * <p>
+ * Each shape is an array of boxes ({@code [minX, minY, minZ, maxX, maxY, maxZ]}) with flags precomputed so
+ * consumers do not have to inspect the boxes themselves.
+ */
+public final class BlockShapeGenerator extends DataGenerator {
+    private static final AABB FULL_CUBE = new AABB(0, 0, 0, 1, 1, 1);
+
+    @Override
+    public JsonArray generate() {
+        final BlockShapePalette palette = BlockShapePalette.vanilla();
+        JsonArray shapes = new JsonArray();
+        for (int id = 0; id < palette.size(); id++) {
+            final List<AABB> boxes = palette.boxes(id);
+            JsonObject shape = new JsonObject();
+            shape.addProperty("id", id);
+            JsonArray boxArray = new JsonArray();
+            for (AABB box : boxes) {
+                boxArray.add(box(box.minX, box.minY, box.minZ, box.maxX, box.maxY, box.maxZ));
+            }
+            shape.add("boxes", boxArray);
+            addDefaultable(shape, "empty", boxes.isEmpty(), false);
+            addDefaultable(shape, "singleBox", boxes.size() == 1, false);
+            addDefaultable(shape, "fullCube", boxes.size() == 1 && boxes.getFirst().equals(FULL_CUBE), false);
+            if (!boxes.isEmpty()) {
+                double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, minZ = Double.MAX_VALUE;
+                double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE, maxZ = -Double.MAX_VALUE;
+                for (AABB box : boxes) {
+                    minX = Math.min(minX, box.minX);
+                    minY = Math.min(minY, box.minY);
+                    minZ = Math.min(minZ, box.minZ);
+                    maxX = Math.max(maxX, box.maxX);
+                    maxY = Math.max(maxY, box.maxY);
+                    maxZ = Math.max(maxZ, box.maxZ);
+                }
+                shape.add("bounds", box(minX, minY, minZ, maxX, maxY, maxZ));
+            }
+            shapes.add(shape);
+        }
+        return shapes;
+    }
+
+    private static JsonArray box(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        JsonArray array = new JsonArray(6);
+        array.add(minX);
+        array.add(minY);
+        array.add(minZ);
+        array.add(maxX);
+        array.add(maxY);
+        array.add(maxZ);
+        return array;
+    }
+}
@@ -0,0 +1,84 @@
+package net.minestom.generators;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.world.level.EmptyBlockGetter;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.shapes.CollisionContext;
+import net.minecraft.world.phys.shapes.VoxelShape;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Every distinct shape used by a block state, numbered in order of first use (blocks in registry order, then their
+ * states, then shape, collision, interaction, occlusion and visual shape).
+ * <p>
+ * Shapes are distinct when their boxes differ, so the numbering is stable between runs.
+ */
+final class BlockShapePalette {
+    private final List<List<AABB>> shapes = new ArrayList<>();
+    private final Map<List<AABB>, Integer> ids = new HashMap<>();
+    // Most shapes are shared between many states, VoxelShape does not override equals so this is by identity
+    private final Map<VoxelShape, Integer> instances = new ConcurrentHashMap<>();
+
+    private BlockShapePalette() {
+        for (var block : BuiltInRegistries.BLOCK) {
+            for (BlockState state : block.getStateDefinition().getPossibleStates()) {
+                register(state.getShape(EmptyBlockGetter.INSTANCE, BlockPos.ZERO));
+                register(state.getCollisionShape(EmptyBlockGetter.INSTANCE, BlockPos.ZERO));
+                register(state.getInteractionShape(EmptyBlockGetter.INSTANCE, BlockPos.ZERO));
+                register(state.getOcclusionShape());
+                register(state.getVisualShape(EmptyBlockGetter.INSTANCE, BlockPos.ZERO, CollisionContext.empty()));
+            }
+        }
+    }
+
+    /**
+     * @return the palette of the vanilla block states, built on first use
+     */
+    static BlockShapePalette vanilla() {
+        return Holder.PALETTE;
+    }
+
+    /**
+     * @param shape a shape of any block state
+     * @return the index of the shape in the palette
+     */
+    int id(VoxelShape shape) {
+        Integer id = instances.get(shape);
+        if (id != null) return id;
+        id = ids.get(shape.toAabbs());
+        if (id == null) throw new IllegalArgumentException("Shape " + shape + " is not used by any block state");
+        instances.put(shape, id);
+        return id;
+    }
+
+    int size() {
+        return shapes.size();
+    }
+
+    List<AABB> boxes(int id) {
+        return shapes.get(id);
+    }
+
+    private void register(VoxelShape shape) {
+        if (instances.containsKey(shape)) return;
+        final List<AABB> boxes = List.copyOf(shape.toAabbs());
+        Integer id = ids.get(boxes);
+        if (id == null) {
+            id = shapes.size();
+            shapes.add(boxes);
+            ids.put(boxes, id);
+        }
+        instances.put(shape, id);
+    }
+
+    private static final class Holder {
+        private static final BlockShapePalette PALETTE = new BlockShapePalette();
+    }
+}
@@ -0,0 +1,146 @@
+package net.minestom.generators;
+
+import com.google.gson.JsonObject;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.EmptyBlockGetter;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.FireBlock;
+import net.minecraft.world.level.block.SoundType;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.material.PushReaction;
+import net.minecraft.world.phys.shapes.CollisionContext;
+import net.minestom.datagen.DataGenContext;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * The properties of a single block state, extracted once so that states can be compared to the default state of
+ * their block without going through json.
+ * <p>
+ * A property is written for a state when it differs from the default state. Properties with a default value are
+ * never written when they have that value, which also means they are omitted when only the default state differs.
+ */
+final class BlockStateData {
+    final boolean canRespawnIn;
+    final float hardness;
+    final int lightEmission;
+    final PushReaction pushReaction;
+    final int mapColorId;
+    final boolean occludes;
+    final boolean requiresTool;
+    final boolean blocksMotion;
+    final boolean flammable;
+    final boolean air;
+    final boolean liquid;
+    final boolean replaceable;
+    final boolean solid;
+    final int lightBlock;
+    final @Nullable String soundType;
+    final int shape;
+    final int collisionShape;
+    final int interactionShape;
+    final int occlusionShape;
+    final int visualShape;
+    final boolean redstoneConductor;
+    final boolean signalSource;
+
+    /**
+     * @param soundTypes the name of each known sound type, by identity
+     * @param shapes     the palette the shapes are referenced from
+     */
+    BlockStateData(Block block, BlockState state, Map<SoundType, String> soundTypes, BlockShapePalette shapes) {
+        this.canRespawnIn = block.isPossibleToRespawnInThis(state);
+        this.hardness = state.getDestroySpeed(EmptyBlockGetter.INSTANCE, BlockPos.ZERO);
+        this.lightEmission = state.getLightEmission();
+        this.pushReaction = state.getPistonPushReaction();
+        this.mapColorId = state.getMapColor(EmptyBlockGetter.INSTANCE, BlockPos.ZERO).id;
+        this.occludes = state.canOcclude();
+        this.requiresTool = state.requiresCorrectToolForDrops();
+        this.blocksMotion = state.blocksMotion();
+        this.flammable = isFlammable(state);
+        this.air = state.isAir();
+        this.liquid = state.liquid();
+        this.replaceable = state.canBeReplaced();
+        this.solid = state.isSolid();
+        this.lightBlock = state.getLightDampening();
+        this.soundType = soundTypes.get(state.getSoundType());
+        this.shape = shapes.id(state.getShape(EmptyBlockGetter.INSTANCE, BlockPos.ZERO));
+        this.collisionShape = shapes.id(state.getCollisionShape(EmptyBlockGetter.INSTANCE, BlockPos.ZERO));
+        this.interactionShape = shapes.id(state.getInteractionShape(EmptyBlockGetter.INSTANCE, BlockPos.ZERO));
+        this.occlusionShape = shapes.id(state.getOcclusionShape());
+        this.visualShape = shapes.id(state.getVisualShape(EmptyBlockGetter.INSTANCE, BlockPos.ZERO, CollisionContext.empty()));
+        this.redstoneConductor = state.isRedstoneConductor(EmptyBlockGetter.INSTANCE, BlockPos.ZERO);
+        this.signalSource = state.isSignalSource();
+    }
+
+    /**
+     * @return the data of every block state indexed by state id, extracted once per run and not to be modified
+     */
+    static BlockStateData[] all(DataGenContext context) {
+        return context.shared(BlockStateData[].class, ignored -> extractAll());
+    }
+
+    private static BlockStateData[] extractAll() {
+        final var stateRegistry = Block.BLOCK_STATE_REGISTRY;
+        final Map<SoundType, String> soundTypes = BlockGenerator.getBlockSoundTypeNames();
+        final BlockShapePalette shapes = BlockShapePalette.vanilla();
+        final BlockStateData[] states = new BlockStateData[stateRegistry.size()];
+        IntStream.range(0, states.length).parallel().forEach(id -> {
+            final BlockState state = stateRegistry.byId(id);
+            states[id] = new BlockStateData(state.getBlock(), state, soundTypes, shapes);
+        });
+        return states;
+    }
+
+    /**
+     * Writes the properties which differ from {@code base}, or all of them (besides those with their default value)
+     * if there is no base.
+     *
+     * @param target            the json to write to
+     * @param base              the default state of the block, or null when writing the default state itself
+     * @param alwaysEmitsLight  whether the light emission has no default value, see {@code minecraft:light}
+     */
+    void write(JsonObject target, @Nullable BlockStateData base, boolean alwaysEmitsLight) {
+        final boolean all = base == null;
+        // Data
+        if (all || canRespawnIn != base.canRespawnIn) target.addProperty("canRespawnIn", canRespawnIn);
+        if (all || Float.compare(hardness, base.hardness) != 0) target.addProperty("hardness", hardness);
+        if ((alwaysEmitsLight || lightEmission != 0) && (all || lightEmission != base.lightEmission))
+            target.addProperty("lightEmission", lightEmission);
+        if (all || pushReaction != base.pushReaction) target.addProperty("pushReaction", pushReaction.name());
+        if (all || mapColorId != base.mapColorId) target.addProperty("mapColorId", mapColorId);
+        if (all || occludes != base.occludes) target.addProperty("occludes", occludes);
+        if (all || requiresTool != base.requiresTool) target.addProperty("requiresTool", requiresTool);
+
+        if (all || blocksMotion != base.blocksMotion) target.addProperty("blocksMotion", blocksMotion);
+        if (all || flammable != base.flammable) target.addProperty("flammable", flammable);
+        if (air && (all || !base.air)) target.addProperty("air", true);
+        if (liquid && (all || !base.liquid)) target.addProperty("liquid", true);
+        if (replaceable && (all || !base.replaceable)) target.addProperty("replaceable", true);
+        if (all || solid != base.solid) target.addProperty("solid", solid);
+        if (all || blocksMotion != base.blocksMotion) target.addProperty("solidBlocking", blocksMotion);
+        if (all || lightBlock != base.lightBlock) target.addProperty("lightBlock", lightBlock);
+        // Sounds
+        if (soundType != null && (all || !soundType.equals(base.soundType))) target.addProperty("soundType", soundType);
+        // Shapes (Hit-boxes), as indices into the shape palette (block_shape.json)
+        if (all || shape != base.shape) target.addProperty("shape", shape);
+        if (all || collisionShape != base.collisionShape) target.addProperty("collisionShape", collisionShape);
+        if (all || interactionShape != base.interactionShape) target.addProperty("interactionShape", interactionShape);
+        if (all || occlusionShape != base.occlusionShape) target.addProperty("occlusionShape", occlusionShape);
+        if (all || visualShape != base.visualShape) target.addProperty("visualShape", visualShape);
+
+        // Redstone bits
+        if (all || redstoneConductor != base.redstoneConductor) target.addProperty("redstoneConductor", redstoneConductor);
+        if (signalSource && (all || !base.signalSource)) target.addProperty("signalSource", true);
+    }
+
+    private static final FireBlock fireBlock = (FireBlock) Blocks.FIRE;
+
+    private static boolean isFlammable(@NotNull BlockState blockState) {
+        return fireBlock.canBurn(blockState);
+    }
+}
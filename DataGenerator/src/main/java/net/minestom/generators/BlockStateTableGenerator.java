@@ -0,0 +1,152 @@
+package net.minestom.generators;
+
+import net.minecraft.world.level.material.PushReaction;
+import net.minestom.datagen.DataGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes the block state properties looked up on hot paths as dense columns indexed by state id, next to the
+ * per-block tree of {@code block.json}. Read through {@code net.minestom.data.BlockStateTable}.
+ * <p>
+ * Layout (version 1), where varints are unsigned LEB128:
+ * <pre>
+ * "MSBS" version:u8 stateCount:varint columnCount:varint
+ * (nameLength:varint name:utf8 type:u8 valueNameCount:varint (length:varint valueName:utf8)*
+ *  dataLength:varint data)*
+ * </pre>
+ * The data of a column depends on its type:
+ * <ul>
+ *     <li>{@code 0} float: {@code stateCount} little-endian IEEE 754 floats</li>
+ *     <li>{@code 1} byte: {@code stateCount} unsigned bytes, indices into the value names when there are any</li>
+ *     <li>{@code 2} bits: {@code ceil(stateCount / 8)} bytes, the state {@code i} being bit {@code i % 8} of byte
+ *     {@code i / 8}, as read by {@code BitSet.valueOf(byte[])}</li>
+ * </ul>
+ */
+public final class BlockStateTableGenerator extends DataGenerator {
+    private static final byte[] MAGIC = {'M', 'S', 'B', 'S'};
+    private static final int VERSION = 1;
+    private static final int FLOAT = 0;
+    private static final int BYTE = 1;
+    private static final int BITS = 2;
+    // Written for states without a sound type, or any other missing index
+    private static final int NONE = 0xFF;
+
+    @Override
+    public byte[] generate() {
+        // Extracted in parallel, once for this generator and the block generator
+        markForked();
+        final BlockStateData[] states = BlockStateData.all(context());
+        final int stateCount = states.length;
+
+        final float[] hardness = new float[stateCount];
+        final byte[] lightEmission = new byte[stateCount];
+        final byte[] lightBlock = new byte[stateCount];
+        final byte[] mapColorId = new byte[stateCount];
+        final byte[] pushReaction = new byte[stateCount];
+        final byte[] soundType = new byte[stateCount];
+        final byte[] solid = new byte[bitsLength(stateCount)];
+        final byte[] liquid = new byte[bitsLength(stateCount)];
+        final byte[] replaceable = new byte[bitsLength(stateCount)];
+        final byte[] occludes = new byte[bitsLength(stateCount)];
+        final List<String> soundTypeNames = new ArrayList<>();
+        for (int id = 0; id < stateCount; id++) {
+            final BlockStateData data = states[id];
+            hardness[id] = data.hardness;
+            lightEmission[id] = (byte) data.lightEmission;
+            lightBlock[id] = (byte) data.lightBlock;
+            mapColorId[id] = (byte) data.mapColorId;
+            pushReaction[id] = (byte) data.pushReaction.ordinal();
+            soundType[id] = (byte) (data.soundType == null ? NONE : index(soundTypeNames, data.soundType));
+            setBit(solid, id, data.solid);
+            setBit(liquid, id, data.liquid);
+            setBit(replaceable, id, data.replaceable);
+            setBit(occludes, id, data.occludes);
+        }
+
+        final ByteBuffer hardnessBytes = ByteBuffer.allocate(stateCount * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        hardnessBytes.asFloatBuffer().put(hardness);
+
+        final List<Column> columns = List.of(
+                new Column("hardness", FLOAT, List.of(), hardnessBytes.array()),
+                new Column("lightEmission", BYTE, List.of(), lightEmission),
+                new Column("lightBlock", BYTE, List.of(), lightBlock),
+                new Column("mapColorId", BYTE, List.of(), mapColorId),
+                new Column("pushReaction", BYTE, enumNames(PushReaction.values()), pushReaction),
+                new Column("soundType", BYTE, soundTypeNames, soundType),
+                new Column("solid", BITS, List.of(), solid),
+                new Column("liquid", BITS, List.of(), liquid),
+                new Column("replaceable", BITS, List.of(), replaceable),
+                new Column("occludes", BITS, List.of(), occludes)
+        );
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(stateCount * 10 + 512);
+        out.writeBytes(MAGIC);
+        out.write(VERSION);
+        writeVarInt(out, stateCount);
+        writeVarInt(out, columns.size());
+        for (Column column : columns) {
+            writeString(out, column.name());
+            out.write(column.type());
+            writeVarInt(out, column.valueNames().size());
+            column.valueNames().forEach(valueName -> writeString(out, valueName));
+            writeVarInt(out, column.data().length);
+            out.writeBytes(column.data());
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @return the index of the name, added in order of first use
+     */
+    private static int index(List<String> names, String name) {
+        int index = names.indexOf(name);
+        if (index == -1) {
+            index = names.size();
+            if (index >= NONE) throw new IllegalStateException("Too many distinct values for a byte column: " + names);
+            names.add(name);
+        }
+        return index;
+    }
+
+    private static List<String> enumNames(Enum<?>[] values) {
+        List<String> names = new ArrayList<>(values.length);
+        for (Enum<?> value : values) {
+            names.add(value.name());
+        }
+        return names;
+    }
+
+    /**
+     * @return the length of a bits column, which does not depend on which bits are set
+     */
+    private static int bitsLength(int stateCount) {
+        return (stateCount + 7) / 8;
+    }
+
+    private static void setBit(byte[] bits, int index, boolean value) {
+        if (value) bits[index >> 3] |= (byte) (1 << (index & 7));
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.writeBytes(bytes);
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private record Column(String name, int type, List<String> valueNames, byte[] data) {
+    }
+}
@@ -76,7 +76,7 @@ public final class EntityGenerator extends DataGenerator {
                 entity.addProperty("eyeHeight", dimensions.eyeHeight());
 
                 // Get the defined attachment points for entities
-                Map<EntityAttachment, List<Vec3>> attachments = getAttachmentMap(dimensions.attachments());
+                Map<EntityAttachment, List<Vec3>> attachments = dimensions.attachments().attachments;
                 JsonObject attachs = new JsonObject();
                 for (var entry : attachments.entrySet()) {
                     List<Vec3> vecs = entry.getValue();
@@ -128,8 +128,8 @@ public final class EntityGenerator extends DataGenerator {
             AttributeSupplier supplier = DefaultAttributes.getSupplier(livingType);
             if (supplier == null) return null;
 
-            Map<Holder<Attribute>, AttributeInstance> instances = getAttributeInstances(supplier);
-            if (instances == null || instances.isEmpty()) return null;
+            Map<Holder<Attribute>, AttributeInstance> instances = supplier.instances;
+            if (instances.isEmpty()) return null;
 
             JsonObject attributes = new JsonObject();
 
@@ -146,18 +146,6 @@ public final class EntityGenerator extends DataGenerator {
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private Map<Holder<Attribute>, AttributeInstance> getAttributeInstances(AttributeSupplier supplier) {
-        try {
-            Field instancesField = AttributeSupplier.class.getDeclaredField("instances");
-            instancesField.setAccessible(true);
-            return (Map<Holder<Attribute>, AttributeInstance>) instancesField.get(supplier);
-        } catch (NoSuchFieldException | IllegalAccessException e) {
-            LOGGER.error("Failed to access instances field from AttributeSupplier", e);
-            return null;
-        }
-    }
-
     private double findDrag(EntityType<?> entityType) {
         if (isBoat(entityType)) return 0;
 
@@ -207,16 +195,6 @@ public final class EntityGenerator extends DataGenerator {
         return DEFAULT_ACCELERATION;
     }
 
-    private @NotNull Map<EntityAttachment, List<Vec3>> getAttachmentMap(@NotNull EntityAttachments attachments) {
-        try {
-            var field = EntityAttachments.class.getDeclaredField("attachments");
-            field.setAccessible(true);
-            return (Map<EntityAttachment, List<Vec3>>) field.get(attachments);
-        } catch (NoSuchFieldException | IllegalAccessException e) {
-            throw new RuntimeException(e);
-        }
-    }
-
     private static boolean isBoat(@NotNull EntityType<?> entityType) {
         return BuiltInRegistries.ENTITY_TYPE.getKey(entityType).toString().contains("boat");
     }
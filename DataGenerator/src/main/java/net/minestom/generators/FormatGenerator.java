@@ -0,0 +1,19 @@
+package net.minestom.generators;
+
+import com.google.gson.JsonObject;
+import net.minestom.datagen.DataGenType;
+import net.minestom.datagen.DataGenerator;
+
+/**
+ * Writes the layout version of every output, so consumers can detect breaking changes before reading a file.
+ */
+public final class FormatGenerator extends DataGenerator {
+    @Override
+    public JsonObject generate() {
+        JsonObject formats = new JsonObject();
+        for (DataGenType type : DataGenType.values()) {
+            formats.addProperty(type.getFileName(), type.getFormatVersion());
+        }
+        return formats;
+    }
+}
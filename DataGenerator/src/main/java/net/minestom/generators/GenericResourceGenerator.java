@@ -1,26 +1,32 @@
 package net.minestom.generators;
 
 import com.google.gson.Gson;
-import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
 import com.mojang.serialization.Dynamic;
 import com.mojang.serialization.JsonOps;
 import net.minecraft.nbt.NbtOps;
 import net.minecraft.nbt.SnbtPrinterTagVisitor;
 import net.minecraft.nbt.Tag;
-import net.minestom.datagen.DataGenerator;
-import net.minestom.utils.ResourceUtils;
+import net.minestom.datagen.StreamingDataGenerator;
+import net.minestom.utils.JarIndex;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Scanner;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 
-public class GenericResourceGenerator extends DataGenerator {
+public class GenericResourceGenerator extends StreamingDataGenerator {
 
     private static final Gson gson = new Gson();
+    private static final int PARSE_WINDOW = 64;
 
     private final String name;
     private final List<String> exclusions;
@@ -36,41 +42,71 @@ public class GenericResourceGenerator extends DataGenerator {
         this.snbt = snbt;
     }
 
+    @Override
+    public boolean isStreaming() {
+        // SNBT is printed from a complete tag, so it cannot be written entry by entry
+        return !snbt;
+    }
+
+    @Override
+    public void generate(JsonWriter writer) throws Exception {
+        writer.beginObject();
+        forEachEntry((key, jsonObject) -> writeEntry(writer, key, jsonObject));
+        writer.endObject();
+    }
+
     @Override
     public Object generate() throws Exception {
         var result = new JsonObject();
+        forEachEntry(result::add);
 
-        // get all files from the damage types directory
-        var files = ResourceUtils.getResourceListing(net.minecraft.server.MinecraftServer.class, name);
-
-        for (String fileName : files) {
-            var file = net.minecraft.server.MinecraftServer.class
-                    .getClassLoader()
-                    .getResourceAsStream(name + fileName);
-            var scanner = new Scanner(file);
-            var content = new StringBuilder();
-            while (scanner.hasNextLine()) {
-                content.append(scanner.nextLine());
-            }
-            scanner.close();
+        if (snbt) {
+            Tag tag = Dynamic.convert(JsonOps.INSTANCE, NbtOps.INSTANCE, result);
+            return new SnbtPrinterTagVisitor("    ", 0, new ArrayList<>()).visit(tag);
+        }
+        return result;
+    }
+
+    private void forEachEntry(EntryConsumer consumer) throws Exception {
+        final JarIndex jar = context().jar();
+        final List<String> files = jar.files(name).stream()
+                .filter(fileName -> fileName.endsWith(".json"))
+                .toList();
 
-            // only collect valid files
-            if (content.length() > 0 && fileName.endsWith(".json")) {
+        // Parse a window of files in parallel, then hand them over in order before parsing the next one
+        markForked();
+        for (int start = 0; start < files.size(); start += PARSE_WINDOW) {
+            final List<String> window = files.subList(start, Math.min(start + PARSE_WINDOW, files.size()));
+            final JsonObject[] parsed = new JsonObject[window.size()];
+            IntStream.range(0, window.size()).parallel().forEach(i -> parsed[i] = parse(jar, name + window.get(i)));
+
+            for (int i = 0; i < parsed.length; i++) {
+                // only collect valid files
+                if (parsed[i] == null) continue;
+                final String fileName = window.get(i);
                 var key = "minecraft:" + fileName.substring(0, fileName.length() - 5);
-                var jsonObject = gson.fromJson(content.toString(), JsonObject.class);
-                exclusions.forEach(jsonObject::remove);
+                exclusions.forEach(parsed[i]::remove);
 
-                result.add(key, jsonObject);
+                consumer.accept(key, parsed[i]);
             }
         }
+    }
 
-        if (snbt) {
-            Tag tag = Dynamic.convert(JsonOps.INSTANCE, NbtOps.INSTANCE, result);
-            return new SnbtPrinterTagVisitor("    ", 0, new ArrayList<>()).visit(tag);
+    private static @Nullable JsonObject parse(JarIndex jar, String path) {
+        try {
+            if (jar.size(path) == 0) return null;
+            try (Reader reader = new InputStreamReader(jar.open(path), StandardCharsets.UTF_8)) {
+                return gson.fromJson(reader, JsonObject.class);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + path, e);
         }
-        return result;
     }
 
+    @FunctionalInterface
+    private interface EntryConsumer {
+        void accept(String key, JsonObject value) throws IOException;
+    }
 
     private @Nullable Function<JsonObject, JsonObject> transformer() {
         if (name.contains("enchantment")) {
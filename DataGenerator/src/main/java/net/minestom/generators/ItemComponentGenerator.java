@@ -0,0 +1,27 @@
+package net.minestom.generators;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import net.minestom.datagen.DataGenerator;
+
+/**
+ * Writes the component table referenced by index from the components of every item in {@code item.json}.
+ * <p>
+ * Each distinct component appears once, so consumers can decode it once and share the instance between items.
+ */
+public final class ItemComponentGenerator extends DataGenerator {
+    @Override
+    public JsonArray generate() {
+        final ItemComponentTable table = ItemComponentTable.of(context());
+        JsonArray components = new JsonArray(table.size());
+        for (int id = 0; id < table.size(); id++) {
+            JsonObject component = new JsonObject();
+            component.addProperty("id", id);
+            for (var entry : table.component(id).entrySet()) {
+                component.add(entry.getKey(), entry.getValue());
+            }
+            components.add(component);
+        }
+        return components;
+    }
+}
@@ -0,0 +1,88 @@
+package net.minestom.generators;
+
+import com.google.gson.JsonObject;
+import net.minecraft.core.component.TypedDataComponent;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.util.Util;
+import net.minecraft.world.item.Item;
+import net.minestom.datagen.DataGenContext;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Every distinct component of an item prototype, numbered in order of first use (items in registry order, then
+ * their components).
+ * <p>
+ * Components are distinct when their type or encoded value differ, so the numbering is stable between runs. Each
+ * component value is only encoded once, most of them being shared between many items.
+ */
+final class ItemComponentTable {
+    private final List<JsonObject> components = new ArrayList<>();
+    private final Map<JsonObject, Integer> ids = new HashMap<>();
+    private final Map<Item, int[]> items = new IdentityHashMap<>();
+
+    private ItemComponentTable(DataGenContext context) {
+        var registryJsonOps = context.jsonOps();
+        // Components are records (or registry holders), equal ones encode to the same value
+        Map<TypedDataComponent<?>, Integer> encoded = new HashMap<>();
+        for (var item : BuiltInRegistries.ITEM) {
+            int[] itemComponents = new int[item.components().size()];
+            int i = 0;
+            for (var component : item.components()) {
+                Integer id = encoded.get(component);
+                if (id == null) {
+                    JsonObject entry = new JsonObject();
+                    entry.addProperty("type", Util.getRegisteredName(BuiltInRegistries.DATA_COMPONENT_TYPE, component.type()));
+                    entry.add("value", MaterialGenerator.unwrap(component.encodeValue(registryJsonOps)));
+                    id = register(entry);
+                    encoded.put(component, id);
+                }
+                itemComponents[i++] = id;
+            }
+            items.put(item, itemComponents);
+        }
+    }
+
+    /**
+     * @return the table of the vanilla items, built once per run
+     */
+    static ItemComponentTable of(DataGenContext context) {
+        return context.shared(ItemComponentTable.class, ItemComponentTable::new);
+    }
+
+    /**
+     * @param item any registered item
+     * @return the indices of the prototype components of the item
+     */
+    int[] components(Item item) {
+        final int[] ids = items.get(item);
+        if (ids == null) throw new IllegalArgumentException("Item " + item + " is not registered");
+        return ids;
+    }
+
+    int size() {
+        return components.size();
+    }
+
+    /**
+     * @return the component as {@code {"type": <component type>, "value": <encoded value>}}
+     */
+    JsonObject component(int id) {
+        return components.get(id);
+    }
+
+    private int register(JsonObject entry) {
+        // Values which do not override equals are still deduplicated by their encoded form
+        Integer id = ids.get(entry);
+        if (id == null) {
+            id = components.size();
+            components.add(entry);
+            ids.put(entry, id);
+        }
+        return id;
+    }
+}
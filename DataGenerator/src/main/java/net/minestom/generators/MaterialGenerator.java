@@ -1,17 +1,9 @@
 package net.minestom.generators;
 
+import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.mojang.serialization.DataResult;
-import com.mojang.serialization.JsonOps;
-import net.minecraft.core.DefaultedRegistry;
-import net.minecraft.core.HolderLookup;
-import net.minecraft.core.RegistryAccess;
-import net.minecraft.core.component.DataComponentInitializers;
 import net.minecraft.core.registries.BuiltInRegistries;
-import net.minecraft.data.registries.VanillaRegistries;
-import net.minecraft.resources.RegistryOps;
-import net.minecraft.util.Util;
-import net.minecraft.world.item.Item;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.Blocks;
 import net.minestom.datagen.DataGenerator;
@@ -23,10 +15,8 @@ public final class MaterialGenerator extends DataGenerator {
         JsonObject items = new JsonObject();
         var registry = BuiltInRegistries.ITEM;
         var blockRegistry = BuiltInRegistries.BLOCK;
-        var entityTypeRegistry = BuiltInRegistries.ENTITY_TYPE;
 
-        var lookup = applyPendingComponents();
-        var registryJsonOps = lookup.createSerializationContext(JsonOps.INSTANCE);
+        final ItemComponentTable componentTable = ItemComponentTable.of(context());
 
         for (var item : registry) {
             final var location = registry.getKey(item);
@@ -35,11 +25,10 @@ public final class MaterialGenerator extends DataGenerator {
             itemJson.addProperty("id", registry.getId(item));
             itemJson.addProperty("translationKey", item.getDescriptionId());
 
-            // Component prototype
-            var components = new JsonObject();
-            for (var component : item.components()) {
-                var key = Util.getRegisteredName(BuiltInRegistries.DATA_COMPONENT_TYPE, component.type());
-                components.add(key, unwrap(component.encodeValue(registryJsonOps)));
+            // Component prototype, as indices into item_component.json
+            var components = new JsonArray();
+            for (int component : componentTable.components(item)) {
+                components.add(component);
             }
             itemJson.add("components", components);
 
@@ -63,11 +52,4 @@ public final class MaterialGenerator extends DataGenerator {
             throw new RuntimeException("Unknown error");
         }
     }
-
-    private static HolderLookup.Provider applyPendingComponents() {
-        HolderLookup.Provider lookup = VanillaRegistries.createLookup();
-        var registry = BuiltInRegistries.DATA_COMPONENT_INITIALIZERS.build(lookup);
-        registry.forEach(DataComponentInitializers.PendingComponents::apply);
-        return lookup;
-    }
 }
@@ -6,6 +6,6 @@ import net.minestom.datagen.DataGenerator;
 public final class BlockLootTableGenerator extends DataGenerator {
     @Override
     public JsonObject generate() {
-        return mergePath(LOOT_TABLES_FOLDER.resolve("blocks"));
+        return mergePath(lootTablesFolder().resolve("blocks"));
     }
 }
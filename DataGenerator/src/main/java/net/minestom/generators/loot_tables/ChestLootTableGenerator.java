@@ -6,6 +6,6 @@ import net.minestom.datagen.DataGenerator;
 public final class ChestLootTableGenerator extends DataGenerator {
     @Override
     public JsonObject generate() {
-        return mergePath(LOOT_TABLES_FOLDER.resolve("chests"));
+        return mergePath(lootTablesFolder().resolve("chests"));
     }
 }
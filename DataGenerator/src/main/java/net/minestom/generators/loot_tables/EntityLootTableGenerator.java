@@ -6,6 +6,6 @@ import net.minestom.datagen.DataGenerator;
 public final class EntityLootTableGenerator extends DataGenerator {
     @Override
     public JsonObject generate() {
-        return mergePath(LOOT_TABLES_FOLDER.resolve("entities"));
+        return mergePath(lootTablesFolder().resolve("entities"));
     }
 }
@@ -6,6 +6,6 @@ import net.minestom.datagen.DataGenerator;
 public final class GameplayLootTableGenerator extends DataGenerator {
     @Override
     public JsonObject generate() {
-        return mergePath(LOOT_TABLES_FOLDER.resolve("gameplay"));
+        return mergePath(lootTablesFolder().resolve("gameplay"));
     }
 }
@@ -12,6 +12,6 @@ public class GenericTagGenerator extends DataGenerator {
 
     @Override
     public JsonObject generate() {
-        return mergePath(TAGS_FOLDER.resolve(path));
+        return mergePath(tagsFolder().resolve(path));
     }
 }
@@ -0,0 +1,92 @@
+package net.minestom.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+public final class HashUtils {
+
+    private HashUtils() {}
+
+    public static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required to be supported", e);
+        }
+    }
+
+    public static String hex(MessageDigest digest) {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Hashes the strings in order, each one is terminated so that ("ab", "c") and ("a", "bc") differ.
+     */
+    public static String hash(String... parts) {
+        MessageDigest digest = sha256();
+        for (String part : parts) {
+            digest.update(part.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return hex(digest);
+    }
+
+    /**
+     * Hashes a file, or every file within a directory together with its relative path.
+     *
+     * @param path the file or directory to hash
+     * @return the hex encoded SHA-256 hash
+     */
+    public static String hash(Path path) throws IOException {
+        MessageDigest digest = sha256();
+        if (!Files.isDirectory(path)) {
+            update(digest, path);
+            return hex(digest);
+        }
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(path)) {
+            files = walk.filter(Files::isRegularFile).sorted().toList();
+        }
+        for (Path file : files) {
+            digest.update(path.relativize(file).toString().replace('\\', '/').getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            update(digest, file);
+        }
+        return hex(digest);
+    }
+
+    /**
+     * Hashes the jar or class directory a class was loaded from.
+     *
+     * @param clazz the class to locate
+     * @return the hex encoded SHA-256 hash
+     */
+    public static String hashCodeSource(Class<?> clazz) throws IOException {
+        var codeSource = clazz.getProtectionDomain().getCodeSource();
+        if (codeSource == null) {
+            throw new IOException("No code source for " + clazz.getName());
+        }
+        try {
+            return hash(Path.of(codeSource.getLocation().toURI()));
+        } catch (URISyntaxException e) {
+            throw new IOException("Unable to locate the code source of " + clazz.getName(), e);
+        }
+    }
+
+    private static void update(MessageDigest digest, Path file) throws IOException {
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package net.minestom.utils;
+
+import net.minecraft.server.MinecraftServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * A directory tree of every entry in a jar (or class directory), built once and shared by all generators.
+ * <p>
+ * The jar stays open for the lifetime of the index so entries can be read without reopening it.
+ */
+public final class JarIndex {
+    private final Path root;
+    private final Node tree = new Node();
+
+    private JarIndex(Path root) throws IOException {
+        this.root = root;
+        try (Stream<Path> walk = Files.walk(root)) {
+            walk.filter(Files::isRegularFile).forEach(path -> {
+                Node node = tree;
+                final Path relative = root.relativize(path);
+                for (int i = 0; i < relative.getNameCount() - 1; i++) {
+                    node = node.directories.computeIfAbsent(relative.getName(i).toString(), name -> new Node());
+                }
+                node.files.put(relative.getFileName().toString(), path);
+            });
+        }
+    }
+
+    /**
+     * @return the index of the server jar, built on first use
+     */
+    public static JarIndex server() {
+        return ServerHolder.INDEX;
+    }
+
+    /**
+     * Indexes a jar file or a directory.
+     *
+     * @param location the jar or directory
+     * @return the index
+     */
+    public static JarIndex of(Path location) throws IOException {
+        if (Files.isDirectory(location)) return new JarIndex(location);
+        // The file system is never closed, it backs the index for the rest of the run
+        FileSystem jar = FileSystems.newFileSystem(location);
+        return new JarIndex(jar.getPath("/"));
+    }
+
+    /**
+     * Lists the files directly within a directory.
+     *
+     * @param directory the directory, with or without trailing slash (e.g. {@code data/minecraft/worldgen/biome})
+     * @return the file names in sorted order, empty if the directory does not exist
+     */
+    public List<String> files(String directory) {
+        final Node node = find(directory);
+        return node == null ? List.of() : List.copyOf(node.files.keySet());
+    }
+
+    /**
+     * Lists the files and directories directly within a directory, like {@link ResourceUtils#getResourceListing}.
+     *
+     * @param directory the directory, with or without trailing slash
+     * @return the names in sorted order, empty if the directory does not exist
+     */
+    public List<String> list(String directory) {
+        final Node node = find(directory);
+        if (node == null) return List.of();
+        TreeMap<String, Object> names = new TreeMap<>(node.files);
+        names.putAll(node.directories);
+        return List.copyOf(names.keySet());
+    }
+
+    /**
+     * Opens an entry for reading, safe to call from several threads.
+     *
+     * @param path the full entry path
+     * @return the entry content
+     */
+    public InputStream open(String path) throws IOException {
+        return Files.newInputStream(root.resolve(path));
+    }
+
+    /**
+     * @return the size of an entry in bytes
+     */
+    public long size(String path) throws IOException {
+        return Files.size(root.resolve(path));
+    }
+
+    private Node find(String directory) {
+        Node node = tree;
+        for (String part : directory.split("/")) {
+            if (part.isEmpty()) continue;
+            node = node.directories.get(part);
+            if (node == null) return null;
+        }
+        return node;
+    }
+
+    private static final class Node {
+        private final Map<String, Node> directories = new TreeMap<>();
+        private final Map<String, Path> files = new TreeMap<>();
+    }
+
+    private static final class ServerHolder {
+        private static final JarIndex INDEX;
+
+        static {
+            try {
+                INDEX = of(Path.of(MinecraftServer.class.getProtectionDomain().getCodeSource().getLocation().toURI()));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to index the server jar", e);
+            } catch (URISyntaxException e) {
+                throw new IllegalStateException("Failed to locate the server jar", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package net.minestom.datagen;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import net.minestom.data.DataReader;
+import net.minestom.data.DataSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DataGenBinaryTest {
+    private static final String BLOCK = """
+            {
+              "minecraft:stone": {
+                "id": 1,
+                "hardness": 1.5,
+                "solid": true,
+                "lootTable": null,
+                "tags": ["minecraft:base_stone_overworld", "minecraft:mineable/pickaxe"],
+                "stateIds": [1, -2, 3000000000],
+                "odds": [1, 2.5],
+                "flags": [true, false, true, true, false, false, true, false, true],
+                "mixed": [1, "a", null, {"x": []}],
+                "nested": {"empty": [], "emptyObject": {}}
+              },
+              "minecraft:air": {"id": 0, "hardness": 0.0}
+            }
+            """;
+
+    @Test
+    void roundTrip(@TempDir Path output) throws IOException {
+        Files.writeString(output.resolve("block.json"), BLOCK);
+        Files.createDirectories(output.resolve("tags"));
+        Files.writeString(output.resolve("tags/item.json"), "[\"minecraft:stone\", \"minecraft:air\"]");
+
+        final DataSet dataSet = read(output);
+        assertEquals(List.of("block", "tags/item"), List.copyOf(dataSet.sections()));
+        assertEquals(JsonParser.parseString(BLOCK), tree(dataSet.reader("block")));
+        assertArrayEquals(new String[]{"minecraft:stone", "minecraft:air"}, dataSet.reader("tags/item").nextStringArray());
+    }
+
+    @Test
+    void columns(@TempDir Path output) throws IOException {
+        Files.writeString(output.resolve("columns.json"), "[[1, 2, 3], [0.5, 1], [\"a\", \"b\"], [true, false]]");
+
+        final DataReader reader = read(output).reader("columns");
+        reader.beginArray();
+        assertEquals(DataReader.Type.ARRAY, reader.peek());
+        assertArrayEquals(new int[]{1, 2, 3}, reader.nextIntArray());
+        assertArrayEquals(new double[]{0.5, 1}, reader.nextDoubleArray());
+        reader.skipValue();
+        reader.beginArray();
+        assertEquals(DataReader.Type.BOOLEAN, reader.peek());
+        assertEquals(true, reader.nextBoolean());
+        assertEquals(false, reader.nextBoolean());
+        reader.endArray();
+        reader.endArray();
+        assertEquals(DataReader.Type.END, reader.peek());
+    }
+
+    @Test
+    void unknownTag(@TempDir Path output) throws IOException {
+        Files.writeString(output.resolve("ids.json"), "[2, 4]");
+        DataGenBinary.write(output);
+        final byte[] bytes = Files.readAllBytes(output.resolve(DataGenBinary.DATASET_FILE));
+        // The section is the last value: an int column tag, its size and two elements
+        assertEquals(DataGenBinary.INT_COLUMN, bytes[bytes.length - 4]);
+        bytes[bytes.length - 4] = (byte) (DataGenBinary.BOOLEAN_COLUMN + 1);
+
+        final DataReader reader = DataSet.read(ByteBuffer.wrap(bytes)).reader("ids");
+        assertThrows(IllegalStateException.class, reader::beginArray);
+    }
+
+    private static DataSet read(Path output) throws IOException {
+        DataGenBinary.write(output);
+        return DataSet.read(ByteBuffer.wrap(Files.readAllBytes(output.resolve(DataGenBinary.DATASET_FILE))));
+    }
+
+    /**
+     * Reads the next value back into a json tree.
+     */
+    private static JsonElement tree(DataReader reader) {
+        return switch (reader.peek()) {
+            case NULL -> {
+                reader.nextNull();
+                yield JsonNull.INSTANCE;
+            }
+            case BOOLEAN -> new JsonPrimitive(reader.nextBoolean());
+            case INT -> new JsonPrimitive(reader.nextLong());
+            case DOUBLE -> new JsonPrimitive(reader.nextDouble());
+            case STRING -> new JsonPrimitive(reader.nextString());
+            case ARRAY -> {
+                JsonArray array = new JsonArray();
+                reader.beginArray();
+                while (reader.hasNext()) array.add(tree(reader));
+                reader.endArray();
+                yield array;
+            }
+            case OBJECT -> {
+                JsonObject object = new JsonObject();
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    final String name = reader.nextName();
+                    object.add(name, tree(reader));
+                }
+                reader.endObject();
+                yield object;
+            }
+            case END -> throw new IllegalStateException("No value left");
+        };
+    }
+}
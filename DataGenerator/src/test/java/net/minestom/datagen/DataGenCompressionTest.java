@@ -0,0 +1,99 @@
+package net.minestom.datagen;
+
+import net.minestom.data.MinestomData;
+import net.minestom.data.ResourceCodec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The compressed variants written by {@link DataGenCompression} against the codecs of the data module.
+ * <p>
+ * The test resources stand in for the data module's: a dictionary and one variant per codec of {@link #CONTENT},
+ * written with {@link DataGenCompression#encode}.
+ */
+class DataGenCompressionTest {
+    private static final String CONTENT = "{\"minecraft:stone\":{\"id\":1,\"hardness\":1.5},\"minecraft:granite\":{\"id\":2,\"hardness\":1.5}}";
+
+    @TempDir
+    Path output;
+
+    @Test
+    void gzipRoundTrip() throws Exception {
+        final byte[] content = CONTENT.getBytes(StandardCharsets.UTF_8);
+        final byte[] encoded = DataGenCompression.encode(DataGenCompression.Codec.GZIP, content, null);
+        assertArrayEquals(content, decode(ResourceCodec.GZIP, encoded));
+    }
+
+    @Test
+    void dictionaryRoundTrip() throws Exception {
+        final byte[] content = CONTENT.getBytes(StandardCharsets.UTF_8);
+        final byte[] dictionary;
+        try (InputStream stream = MinestomData.class.getResourceAsStream(DataGenCompression.DICTIONARY_FILE)) {
+            assertNotNull(stream);
+            dictionary = stream.readAllBytes();
+        }
+        final byte[] encoded = DataGenCompression.encode(DataGenCompression.Codec.DEFLATE_DICTIONARY, content, dictionary);
+        assertArrayEquals(content, decode(ResourceCodec.DEFLATE_DICTIONARY, encoded));
+    }
+
+    @Test
+    void extensionsMatchTheDataModule() {
+        assertEquals(DataGenCompression.Codec.GZIP.extension(), ResourceCodec.GZIP.extension());
+        assertEquals(DataGenCompression.Codec.DEFLATE_DICTIONARY.extension(), ResourceCodec.DEFLATE_DICTIONARY.extension());
+    }
+
+    @Test
+    void resourceFallsBackToVariants() throws Exception {
+        for (String path : List.of("compressed_gzip.json", "compressed_deflate.json")) {
+            try (InputStream stream = MinestomData.resource(path)) {
+                assertNotNull(stream, path);
+                assertEquals(CONTENT, new String(stream.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        assertNull(MinestomData.resource("missing.json"));
+    }
+
+    @Test
+    void compressWritesEveryVariant() throws Exception {
+        final String other = "{\"minecraft:dirt\":{\"id\":3,\"hardness\":0.5}}";
+        Files.writeString(output.resolve("block.json"), CONTENT);
+        Files.createDirectories(output.resolve("tags"));
+        Files.writeString(output.resolve("tags/block.json"), other);
+        DataGenCompression.compress(output, List.of(DataGenCompression.Codec.values()));
+
+        assertEquals(CONTENT, new String(decode(ResourceCodec.GZIP, Files.readAllBytes(output.resolve("block.json.gz"))), StandardCharsets.UTF_8));
+        assertEquals(other, new String(decode(ResourceCodec.GZIP, Files.readAllBytes(output.resolve("tags/block.json.gz"))), StandardCharsets.UTF_8));
+        assertTrue(Files.exists(output.resolve("block.json.zdict")));
+        assertTrue(Files.exists(output.resolve("tags/block.json.zdict")));
+        assertTrue(Files.exists(output.resolve(DataGenCompression.DICTIONARY_FILE)));
+    }
+
+    @Test
+    void dictionaryHoldsRepeatedStrings() throws Exception {
+        final Path file = output.resolve("item.json");
+        Files.writeString(file, "{\"stone\":{\"max_stack_size\":64},\"dirt\":{\"max_stack_size\":64},\"sand\":{\"max_stack_size\":64},\"clay\":{\"max_stack_size\":64},\"sign\":{\"unique\":16}}");
+        final String dictionary = new String(DataGenCompression.buildDictionary(List.of(file)), StandardCharsets.UTF_8);
+        assertTrue(dictionary.contains("\"max_stack_size\":"));
+        assertFalse(dictionary.contains("unique"));
+    }
+
+    private static byte[] decode(ResourceCodec codec, byte[] encoded) throws Exception {
+        try (InputStream decoded = codec.decode(new ByteArrayInputStream(encoded))) {
+            return decoded.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package net.minestom.datagen;
+
+import net.minestom.data.LazyRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DataGenIndexTest {
+    // Pretty printed like the generated files, with a multi-byte key ahead of other entries and nested ids
+    private static final String JSON = """
+            {
+              "minecraft:air": {
+                "id": 0
+              },
+              "minecraft:café": {
+                "id": 7,
+                "name": "}\\"{"
+              },
+              "minecraft:stone": {
+                "id": 1,
+                "drops": [{"id": 9}]
+              },
+              "minecraft:unnumbered": [1, 2]
+            }
+            """;
+
+    @Test
+    void entriesPointAtValues() {
+        final byte[] json = JSON.getBytes(StandardCharsets.UTF_8);
+        final List<DataGenIndex.Entry> entries = DataGenIndex.entries(json);
+        assertEquals(List.of("minecraft:air", "minecraft:café", "minecraft:stone", "minecraft:unnumbered"),
+                entries.stream().map(DataGenIndex.Entry::key).toList());
+        assertEquals(List.of(0, 7, 1, -1), entries.stream().map(DataGenIndex.Entry::id).toList());
+        for (DataGenIndex.Entry entry : entries) {
+            final String value = new String(json, entry.offset(), entry.length(), StandardCharsets.UTF_8);
+            assertEquals(value.startsWith("{") ? '}' : ']', value.charAt(value.length() - 1));
+        }
+        assertNull(DataGenIndex.entries("[1, 2]".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void lazyRegistryDecodesByKey() {
+        final LazyRegistry<String> registry = registry(json -> json);
+        assertEquals(4, registry.size());
+        assertEquals(List.of("minecraft:air", "minecraft:café", "minecraft:stone", "minecraft:unnumbered"), registry.keys());
+        assertEquals("{\n    \"id\": 0\n  }", registry.get("minecraft:air"));
+        assertEquals("{\n    \"id\": 7,\n    \"name\": \"}\\\"{\"\n  }", registry.get("minecraft:café"));
+        assertEquals("[1, 2]", registry.get("minecraft:unnumbered"));
+        assertEquals("[1, 2]", StandardCharsets.UTF_8.decode(registry.raw("minecraft:unnumbered")).toString());
+        assertNull(registry.get("minecraft:missing"));
+        assertNull(registry.raw("minecraft:missing"));
+    }
+
+    @Test
+    void lazyRegistryDecodesById() {
+        final LazyRegistry<String> registry = registry(json -> json);
+        assertSame(registry.get("minecraft:air"), registry.get(0));
+        assertSame(registry.get("minecraft:stone"), registry.get(1));
+        assertSame(registry.get("minecraft:café"), registry.get(7));
+        // Ids of nested values are not entry ids, and the gap between ids has no entry
+        assertNull(registry.get(9));
+        assertNull(registry.get(4));
+        assertNull(registry.get(-1));
+        assertNull(registry.get(8));
+    }
+
+    @Test
+    void lazyRegistryDecodesOnce() {
+        final AtomicInteger decoded = new AtomicInteger();
+        final LazyRegistry<String> registry = registry(json -> {
+            decoded.incrementAndGet();
+            return json.strip();
+        });
+        registry.keys();
+        assertEquals(0, decoded.get());
+        final String stone = registry.get("minecraft:stone");
+        assertSame(stone, registry.get(1));
+        assertSame(stone, registry.get("minecraft:stone"));
+        assertEquals(1, decoded.get());
+    }
+
+    @Test
+    void lazyRegistryRejectsOtherFiles() {
+        final MemorySegment content = MemorySegment.ofArray(JSON.getBytes(StandardCharsets.UTF_8));
+        assertThrows(IllegalArgumentException.class, () -> LazyRegistry.read(content,
+                ByteBuffer.wrap(JSON.getBytes(StandardCharsets.UTF_8)), json -> json));
+    }
+
+    private static LazyRegistry<String> registry(Function<String, String> decoder) {
+        final byte[] json = JSON.getBytes(StandardCharsets.UTF_8);
+        final byte[] index = DataGenIndex.build(DataGenIndex.entries(json));
+        return LazyRegistry.read(MemorySegment.ofArray(json), ByteBuffer.wrap(index), decoder);
+    }
+}
@@ -0,0 +1,69 @@
+package net.minestom.datagen;
+
+import net.minestom.data.RegistryKeys;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DataGenKeyHashTest {
+
+    @Test
+    void roundTrip() {
+        for (int size : new int[]{1, 2, 3, 4, 5, 17, 1000, 30000}) {
+            final List<DataGenIndex.Entry> entries = entries(size);
+            final RegistryKeys keys = RegistryKeys.read(ByteBuffer.wrap(DataGenKeyHash.build(entries)));
+            assertEquals(size, keys.size());
+            for (DataGenIndex.Entry entry : entries) {
+                assertEquals(entry.id(), keys.idOf(entry.key()), entry.key());
+                assertEquals(entry.key(), keys.keyOf(entry.id()));
+            }
+        }
+    }
+
+    @Test
+    void unknownKeys() {
+        final RegistryKeys keys = RegistryKeys.read(ByteBuffer.wrap(DataGenKeyHash.build(entries(100))));
+        assertEquals(-1, keys.idOf("minecraft:missing"));
+        assertEquals(-1, keys.idOf(""));
+        assertEquals(-1, keys.idOf("minecraft:key_1x"));
+        assertNull(keys.keyOf(-1));
+        assertNull(keys.keyOf(100));
+    }
+
+    @Test
+    void charSequenceKeys() {
+        final RegistryKeys keys = RegistryKeys.read(ByteBuffer.wrap(DataGenKeyHash.build(entries(10))));
+        final String command = "give @p minecraft:key_7 1";
+        final int start = command.indexOf("minecraft:");
+        assertEquals(keys.idOf("minecraft:key_7"), keys.idOf(command.subSequence(start, command.lastIndexOf(' '))));
+        assertEquals(keys.idOf("minecraft:key_7"), keys.idOf(new StringBuilder("minecraft:key_7")));
+    }
+
+    @Test
+    void nonAsciiKey() {
+        final List<DataGenIndex.Entry> entries = List.of(new DataGenIndex.Entry("minecraft:café", 0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> DataGenKeyHash.build(entries));
+    }
+
+    /**
+     * @return entries with distinct ids in shuffled order, as registry files are not always sorted by id
+     */
+    private static List<DataGenIndex.Entry> entries(int size) {
+        List<Integer> ids = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) ids.add(i);
+        Collections.shuffle(ids, new Random(size));
+        List<DataGenIndex.Entry> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            entries.add(new DataGenIndex.Entry("minecraft:key_" + i, ids.get(i), 0, 0));
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,129 @@
+package net.minestom.datagen;
+
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DataGenManifestTest {
+    private static final FileTime OLD = FileTime.fromMillis(0);
+
+    @TempDir
+    Path output;
+
+    @Test
+    void skipsUnchangedInputs() throws Exception {
+        final Counting generator = new Counting("value");
+        run("fingerprint", generator);
+        run("fingerprint", generator);
+        assertEquals(1, generator.runs);
+        assertEquals("{\"minecraft:entry\":{\"value\":\"value\"}}", Files.readString(output.resolve("entry.json")));
+    }
+
+    @Test
+    void rerunsChangedInputs() throws Exception {
+        final Counting generator = new Counting("value");
+        run("fingerprint", generator);
+        Files.setLastModifiedTime(output.resolve("entry.json"), OLD);
+        run("other fingerprint", generator);
+        assertEquals(2, generator.runs);
+        // The same bytes are not written again
+        assertEquals(OLD, Files.getLastModifiedTime(output.resolve("entry.json")));
+    }
+
+    @Test
+    void rerunsModifiedOutputs() throws Exception {
+        final Counting generator = new Counting("value");
+        run("fingerprint", generator);
+        Files.writeString(output.resolve("entry.json"), "{}");
+        run("fingerprint", generator);
+        assertEquals(2, generator.runs);
+        assertEquals("{\"minecraft:entry\":{\"value\":\"value\"}}", Files.readString(output.resolve("entry.json")));
+
+        Files.delete(output.resolve("entry.json"));
+        run("fingerprint", generator);
+        assertEquals(3, generator.runs);
+    }
+
+    @Test
+    void rerunsReferencesOfChangedOutputs() throws Exception {
+        final Counting table = new Counting("table");
+        final Counting user = new Counting("user");
+        runWithReference(table, user);
+        runWithReference(table, user);
+        assertEquals(1, table.runs);
+        assertEquals(1, user.runs);
+
+        // The indices the user refers to may have moved, although its own inputs are unchanged
+        Files.writeString(output.resolve("table.json"), "{}");
+        runWithReference(table, user);
+        assertEquals(2, table.runs);
+        assertEquals(2, user.runs);
+
+        runWithReference(table, user);
+        assertEquals(2, table.runs);
+        assertEquals(2, user.runs);
+    }
+
+    @Test
+    void failedGeneratorKeepsPreviousOutput() throws Exception {
+        run("fingerprint", new Counting("value"));
+        final Failing failing = new Failing();
+        DataGen.configure(output, DataGenManifest.disabled(), "fingerprint");
+        assertThrows(RuntimeException.class, () -> DataGen.generate("entry", failing, List.of()));
+        assertEquals("{\"minecraft:entry\":{\"value\":\"value\"}}", Files.readString(output.resolve("entry.json")));
+        assertFalse(Files.exists(output.resolve("entry.json.tmp")));
+    }
+
+    private void run(String fingerprint, DataGenerator generator) throws Exception {
+        final DataGenManifest manifest = DataGenManifest.load(output.resolve("manifest.json"));
+        DataGen.configure(output, manifest, fingerprint);
+        DataGen.generate("entry", generator, List.of());
+        manifest.save();
+    }
+
+    private void runWithReference(DataGenerator table, DataGenerator user) throws Exception {
+        final DataGenManifest manifest = DataGenManifest.load(output.resolve("manifest.json"));
+        DataGen.configure(output, manifest, "fingerprint");
+        DataGen.generate("table", table, List.of());
+        DataGen.generate("entry", user, List.of("table"));
+        manifest.save();
+    }
+
+    private static final class Counting extends DataGenerator {
+        private final String value;
+        private int runs;
+
+        Counting(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public Object generate() {
+            runs++;
+            final JsonObject entry = new JsonObject();
+            entry.addProperty("value", value);
+            final JsonObject result = new JsonObject();
+            result.add("minecraft:entry", entry);
+            return result;
+        }
+    }
+
+    private static final class Failing extends StreamingDataGenerator {
+        @Override
+        public void generate(JsonWriter writer) throws Exception {
+            writer.beginObject();
+            writer.name("minecraft:entry");
+            throw new IllegalStateException("Broken generator");
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package net.minestom.datagen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DataGenSchedulerTest {
+    @Test
+    void runsDependenciesFirst() throws Exception {
+        final ConcurrentLinkedQueue<String> order = new ConcurrentLinkedQueue<>();
+        try (var scheduler = new DataGenScheduler(4)) {
+            // The dependency is slow, so a dependent started too early would finish before it
+            scheduler.submit("table", List.of(), () -> {
+                Thread.sleep(50);
+                order.add("table");
+            });
+            scheduler.submit("other", List.of(), () -> order.add("other"));
+            scheduler.submit("user", List.of("table"), () -> order.add("user"));
+            scheduler.submit("last", List.of("user", "other"), () -> order.add("last"));
+            scheduler.await();
+        }
+        final List<String> finished = List.copyOf(order);
+        assertEquals(4, finished.size());
+        assertTrue(finished.indexOf("table") < finished.indexOf("user"));
+        assertTrue(finished.indexOf("user") < finished.indexOf("last"));
+        assertTrue(finished.indexOf("other") < finished.indexOf("last"));
+    }
+
+    @Test
+    void runsIndependentTasksConcurrently() throws Exception {
+        final CountDownLatch started = new CountDownLatch(2);
+        try (var scheduler = new DataGenScheduler(2)) {
+            // Each task waits for the other one to start, which a sequential run never does
+            for (String name : List.of("first", "second")) {
+                scheduler.submit(name, List.of(), () -> {
+                    started.countDown();
+                    assertTrue(started.await(10, TimeUnit.SECONDS));
+                });
+            }
+            scheduler.await();
+        }
+    }
+
+    @Test
+    void awaitRethrowsFailures() {
+        final IllegalStateException failure = new IllegalStateException("Broken generator");
+        final AtomicBoolean dependentRan = new AtomicBoolean();
+        final AtomicBoolean independentRan = new AtomicBoolean();
+        try (var scheduler = new DataGenScheduler(2)) {
+            scheduler.submit("broken", List.of(), () -> {
+                throw failure;
+            });
+            scheduler.submit("dependent", List.of("broken"), () -> dependentRan.set(true));
+            scheduler.submit("independent", List.of(), () -> independentRan.set(true));
+            final Exception thrown = assertThrows(RuntimeException.class, scheduler::await);
+            assertEquals("Failed to generate 'broken'", thrown.getMessage());
+            assertSame(failure, thrown.getCause());
+        }
+        assertFalse(dependentRan.get());
+        assertTrue(independentRan.get());
+    }
+
+    @Test
+    void rejectsInvalidSubmissions() {
+        try (var scheduler = new DataGenScheduler(1)) {
+            scheduler.submit("entry", List.of(), () -> {});
+            assertThrows(IllegalArgumentException.class, () -> scheduler.submit("entry", List.of(), () -> {}));
+            // Dependencies are submitted first, so an unknown one is a mistake rather than a later task
+            assertThrows(IllegalStateException.class, () -> scheduler.submit("user", List.of("table"), () -> {}));
+        }
+    }
+}
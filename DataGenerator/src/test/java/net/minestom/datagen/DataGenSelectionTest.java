@@ -0,0 +1,111 @@
+package net.minestom.datagen;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DataGenSelectionTest {
+    @TempDir
+    Path tags;
+
+    @Test
+    void globMatchesAnyCharacters() {
+        final Pattern loot = DataGen.globPattern("loot_tables/*");
+        assertTrue(loot.matcher("loot_tables/block_loot_tables").matches());
+        assertFalse(loot.matcher("loot_tables").matches());
+
+        // Including slashes, unlike a file system glob
+        assertTrue(DataGen.globPattern("*biome").matcher("tags/worldgen/biome").matches());
+        assertTrue(DataGen.globPattern("*").matcher("").matches());
+        assertTrue(DataGen.globPattern("b*_*e").matcher("block_shape").matches());
+    }
+
+    @Test
+    void globMatchesWholeNames() {
+        final Pattern block = DataGen.globPattern("block");
+        assertTrue(block.matcher("block").matches());
+        assertFalse(block.matcher("block_shape").matches());
+        assertFalse(block.matcher("tags/block").matches());
+    }
+
+    @Test
+    void globQuotesOtherCharacters() {
+        assertFalse(DataGen.globPattern("item.json").matcher("item_json").matches());
+        assertFalse(DataGen.globPattern("item?").matcher("items").matches());
+        assertTrue(DataGen.globPattern("item?").matcher("item?").matches());
+    }
+
+    @Test
+    void splitsPatternLists() {
+        assertEquals(List.of("block*", "item"), DataGen.splitPatterns(" block* ,, item,"));
+        assertEquals(List.of(), DataGen.splitPatterns(""));
+    }
+
+    @Test
+    void selectsIncludedMinusExcluded() throws Exception {
+        final List<String> names = names(DataGen.selectJobs(List.of("block_*", "item"), List.of("block_shape"), null));
+        assertTrue(names.contains("block_entity_types"));
+        assertTrue(names.contains("item"));
+        assertFalse(names.contains("block_shape"));
+        assertFalse(names.contains("block"));
+        assertFalse(names.contains("sound_event"));
+    }
+
+    @Test
+    void selectsReferencesTogether() throws Exception {
+        final List<String> names = names(DataGen.selectJobs(List.of("block"), List.of(), null));
+        assertTrue(names.contains("block"));
+        assertTrue(names.contains("block_shape"));
+        // A dependency is only ordered before the job, it is not selected with it
+        assertFalse(names.contains("block_entity_types"));
+
+        // Outputs referring to each other are never split, not even by an exclusion
+        final List<String> items = names(DataGen.selectJobs(List.of("item*"), List.of("item"), null));
+        assertTrue(items.contains("item"));
+        assertTrue(items.contains("item_component"));
+    }
+
+    @Test
+    void selectsDiscoveredTags() throws Exception {
+        createTag("block/logs.json");
+        createTag("block/mineable/axe.json");
+        createTag("worldgen/biome/is_forest.json");
+        createTag("item/logs.json");
+
+        assertEquals(List.of("tags/block", "tags/item", "tags/biome"),
+                names(DataGen.selectJobs(List.of("tags/*"), List.of(), tags)));
+        assertEquals(List.of("tags/block", "tags/biome"),
+                names(DataGen.selectJobs(List.of("tags/*"), List.of("tags/item"), tags)));
+        assertEquals(List.of(), names(DataGen.selectJobs(List.of("tags/*"), List.of(), null)));
+    }
+
+    @Test
+    void tagsSelectableWithoutDiscovery() {
+        assertTrue(DataGen.tagsSelectable(List.of(), List.of()));
+        assertTrue(DataGen.tagsSelectable(List.of("tags/block"), List.of()));
+        assertTrue(DataGen.tagsSelectable(List.of("t*"), List.of()));
+        assertTrue(DataGen.tagsSelectable(List.of("*"), List.of("tags/block")));
+        assertFalse(DataGen.tagsSelectable(List.of("block"), List.of()));
+        assertFalse(DataGen.tagsSelectable(List.of("b*"), List.of()));
+        assertFalse(DataGen.tagsSelectable(List.of(), List.of("tags/*")));
+        assertFalse(DataGen.tagsSelectable(List.of(), List.of("*")));
+    }
+
+    private void createTag(String path) throws Exception {
+        final Path file = tags.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "{\"values\":[]}");
+    }
+
+    private static List<String> names(List<DataGen.Job> jobs) {
+        return jobs.stream().map(DataGen.Job::name).toList();
+    }
+}
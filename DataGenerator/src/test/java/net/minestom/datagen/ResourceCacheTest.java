@@ -0,0 +1,131 @@
+package net.minestom.datagen;
+
+import net.minestom.data.ResourceCache;
+import org.junit.jupiter.api.Test;
+
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link ResourceCache} over the {@code cache_*.txt} test resources, each 10 bytes long.
+ */
+class ResourceCacheTest {
+    private final AtomicInteger decoded = new AtomicInteger();
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        final ResourceCache cache = ResourceCache.create(25);
+        get(cache, "cache_a.txt");
+        get(cache, "cache_b.txt");
+        // Now more recently used than b
+        get(cache, "cache_a.txt");
+        get(cache, "cache_c.txt");
+        assertEquals(new ResourceCache.Stats(1, 3, 1, 2, 20, 25), cache.stats());
+
+        get(cache, "cache_a.txt");
+        get(cache, "cache_c.txt");
+        assertEquals(3, decoded.get());
+        get(cache, "cache_b.txt");
+        assertEquals(4, decoded.get());
+    }
+
+    @Test
+    void weighsBytesRead() {
+        final ResourceCache cache = ResourceCache.create(100);
+        cache.get("cache_a.txt", String.class, stream -> new String(stream.readNBytes(4), StandardCharsets.UTF_8));
+        assertEquals(4, cache.stats().weight());
+        // The type is part of the key
+        cache.get("cache_a.txt", byte[].class, stream -> stream.readAllBytes());
+        assertEquals(14, cache.stats().weight());
+        assertEquals(2, cache.stats().size());
+
+        cache.invalidateAll();
+        assertEquals(new ResourceCache.Stats(0, 2, 0, 0, 0, 100), cache.stats());
+    }
+
+    @Test
+    void skipsValuesOverBudget() {
+        final ResourceCache cache = ResourceCache.create(5);
+        final String first = get(cache, "cache_a.txt");
+        assertNotSame(first, get(cache, "cache_a.txt"));
+        assertEquals(new ResourceCache.Stats(0, 2, 0, 0, 0, 5), cache.stats());
+    }
+
+    @Test
+    void missingResourcesAreNull() {
+        final ResourceCache cache = ResourceCache.create(100);
+        assertNull(get(cache, "missing.txt"));
+        assertEquals(0, decoded.get());
+        assertEquals(0, cache.stats().size());
+    }
+
+    @Test
+    void failuresAreNotCached() {
+        final ResourceCache cache = ResourceCache.create(100);
+        assertThrows(IllegalStateException.class, () -> cache.get("cache_a.txt", String.class, stream -> {
+            throw new IllegalStateException("Broken decoder");
+        }));
+        assertEquals("aaaaaaaaaa", get(cache, "cache_a.txt"));
+        assertEquals(1, cache.stats().size());
+    }
+
+    @Test
+    void loadsOnceUnderConcurrency() throws Exception {
+        final int threads = 8;
+        final ResourceCache cache = ResourceCache.create(100);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> cache.get("cache_a.txt", String.class, stream -> {
+                    decoded.incrementAndGet();
+                    started.countDown();
+                    // Holds the other threads on the pending load, or makes them find the stored value
+                    try {
+                        assertTrue(release.await(10, TimeUnit.SECONDS));
+                    } catch (InterruptedException e) {
+                        throw new InterruptedIOException();
+                    }
+                    return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+                })));
+            }
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            Thread.sleep(50);
+            release.countDown();
+
+            final String value = results.getFirst().get(10, TimeUnit.SECONDS);
+            assertEquals("aaaaaaaaaa", value);
+            for (Future<String> result : results) {
+                assertSame(value, result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, decoded.get());
+        assertEquals(new ResourceCache.Stats(threads - 1, 1, 0, 1, 10, 100), cache.stats());
+    }
+
+    private String get(ResourceCache cache, String path) {
+        return cache.get(path, String.class, stream -> {
+            decoded.incrementAndGet();
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        });
+    }
+}
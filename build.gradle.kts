@@ -50,6 +50,19 @@ tasks.register("generateData") {
 
 tasks.processResources.get().dependsOn("generateData")
 
+tasks.processResources {
+    // With -PcompressedData only the compressed variants are packaged, MinestomData.resource decodes them
+    if (project.hasProperty("compressedData")) {
+        exclude("net/minestom/data/**/*.json", "net/minestom/data/**/*.snbt")
+    }
+}
+
+if (project.hasProperty("codegenData")) {
+    // Baked registry classes written by the generator with --codegen
+    sourceSets.main { java.srcDir(layout.buildDirectory.dir("generated/sources/minestom-data")) }
+    tasks.compileJava { dependsOn("generateData") }
+}
+
 nmcpAggregation {
     centralPortal {
         username = System.getenv("SONATYPE_USERNAME")
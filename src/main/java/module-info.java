@@ -1,3 +1,5 @@
 module net.minestom.data {
     exports net.minestom.data;
+
+    uses net.minestom.data.ResourceCodec;
 }
\ No newline at end of file
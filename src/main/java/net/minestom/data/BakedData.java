@@ -0,0 +1,49 @@
+package net.minestom.data;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Decodes the constants of the classes baked by the generator with {@code --codegen}.
+ * <p>
+ * Binary data is held in string constants with one byte per char, which live in the constant pool (and in CDS/AOT
+ * archives) instead of taking one bytecode instruction per element in a static initializer.
+ */
+final class BakedData {
+    private BakedData() {}
+
+    /**
+     * @param chunks the data, split to stay within the constant size limit
+     * @return the bytes, one per char
+     */
+    static byte[] bytes(String... chunks) {
+        int length = 0;
+        for (String chunk : chunks) length += chunk.length();
+        byte[] bytes = new byte[length];
+        int offset = 0;
+        for (String chunk : chunks) {
+            for (int i = 0; i < chunk.length(); i++) {
+                bytes[offset++] = (byte) chunk.charAt(i);
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * @param bytes little-endian IEEE 754 floats
+     * @return the floats
+     */
+    static float[] floats(byte[] bytes) {
+        float[] floats = new float[bytes.length / Float.BYTES];
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(floats);
+        return floats;
+    }
+
+    /**
+     * @param chunks an encoded key hash, see {@link RegistryKeys#read(ByteBuffer)}
+     * @return the keys
+     */
+    static RegistryKeys keys(String... chunks) {
+        return RegistryKeys.read(ByteBuffer.wrap(bytes(chunks)));
+    }
+}
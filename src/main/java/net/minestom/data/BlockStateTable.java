@@ -0,0 +1,145 @@
+package net.minestom.data;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The block state properties looked up on hot paths, as dense columns indexed by state id
+ * ({@code block_state_table.bin}).
+ * <p>
+ * Each column is read into a new primitive array, meant to be kept by the caller. Instances are immutable and safe to
+ * share between threads.
+ */
+public final class BlockStateTable {
+    public static final String RESOURCE = "block_state_table.bin";
+    private static final byte[] MAGIC = {'M', 'S', 'B', 'S'};
+    private static final int VERSION = 1;
+    // Column types, which must match the generator's BlockStateTableGenerator
+    private static final int FLOAT = 0;
+    private static final int BYTE = 1;
+    private static final int BITS = 2;
+
+    private final int stateCount;
+    private final Map<String, Column> columns = new LinkedHashMap<>();
+
+    private BlockStateTable(ByteBuffer buffer) {
+        for (byte expected : MAGIC) {
+            if (buffer.get() != expected) throw new IllegalArgumentException("Not a block state table");
+        }
+        final int version = buffer.get() & 0xFF;
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported block state table version " + version + ", expected " + VERSION);
+        }
+        this.stateCount = DataReader.readVarInt(buffer);
+        final int columnCount = DataReader.readVarInt(buffer);
+        for (int i = 0; i < columnCount; i++) {
+            final String name = readString(buffer);
+            final int type = buffer.get() & 0xFF;
+            final String[] valueNames = new String[DataReader.readVarInt(buffer)];
+            for (int j = 0; j < valueNames.length; j++) valueNames[j] = readString(buffer);
+            final byte[] data = new byte[DataReader.readVarInt(buffer)];
+            buffer.get(data);
+            final int expectedLength = switch (type) {
+                case FLOAT -> stateCount * Float.BYTES;
+                case BYTE -> stateCount;
+                case BITS -> (stateCount + 7) / 8;
+                default -> throw new IllegalArgumentException("Unknown type " + type + " of column " + name);
+            };
+            if (data.length != expectedLength) {
+                throw new IllegalArgumentException("Column " + name + " has " + data.length + " bytes, expected " + expectedLength);
+            }
+            columns.put(name, new Column(type, List.of(valueNames), data));
+        }
+    }
+
+    /**
+     * Reads the table shipped with this module.
+     *
+     * @return the table, or null if the module has none
+     */
+    public static BlockStateTable open() {
+        final ByteBuffer buffer = MinestomData.buffer(RESOURCE);
+        return buffer != null ? read(buffer) : null;
+    }
+
+    /**
+     * @param buffer an encoded table, read from its position
+     * @return the table
+     * @throws IllegalArgumentException if the buffer does not hold a supported table
+     */
+    public static BlockStateTable read(ByteBuffer buffer) {
+        return new BlockStateTable(buffer.duplicate());
+    }
+
+    /**
+     * @return the number of block states, which is the length of every column
+     */
+    public int stateCount() {
+        return stateCount;
+    }
+
+    /**
+     * @return the names of the columns, in file order
+     */
+    public Set<String> columns() {
+        return Collections.unmodifiableSet(columns.keySet());
+    }
+
+    /**
+     * @param column the name of a float column, e.g. {@code hardness}
+     * @return the value of every state
+     */
+    public float[] floats(String column) {
+        final float[] values = new float[stateCount];
+        ByteBuffer.wrap(column(column, FLOAT).data()).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(values);
+        return values;
+    }
+
+    /**
+     * @param column the name of a byte column, e.g. {@code lightEmission}
+     * @return the unsigned value of every state, an index into {@link #valueNames(String)} when the column has names
+     */
+    public byte[] bytes(String column) {
+        return column(column, BYTE).data().clone();
+    }
+
+    /**
+     * @param column the name of a bits column, e.g. {@code solid}
+     * @return the states for which the property is set
+     */
+    public BitSet bits(String column) {
+        return BitSet.valueOf(column(column, BITS).data());
+    }
+
+    /**
+     * @param column the name of a byte column, e.g. {@code soundType}
+     * @return the names of the values, or an empty list if the values are plain numbers. A value past the last name
+     * means the state has none.
+     */
+    public List<String> valueNames(String column) {
+        return column(column, BYTE).valueNames();
+    }
+
+    private Column column(String name, int type) {
+        final Column column = columns.get(name);
+        if (column == null) throw new IllegalArgumentException("Unknown column " + name);
+        if (column.type() != type) throw new IllegalArgumentException("Column " + name + " has type " + column.type() + ", not " + type);
+        return column;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        final byte[] bytes = new byte[DataReader.readVarInt(buffer)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private record Column(int type, List<String> valueNames, byte[] data) {
+    }
+}
@@ -0,0 +1,99 @@
+package net.minestom.data;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+final class BuiltinCodecs {
+    static final String DICTIONARY_PATH = "deflate_dictionary.bin";
+
+    static final ResourceCodec GZIP = new ResourceCodec() {
+        @Override
+        public String extension() {
+            return ".gz";
+        }
+
+        @Override
+        public InputStream decode(InputStream encoded) throws IOException {
+            return new GZIPInputStream(encoded);
+        }
+    };
+
+    static final ResourceCodec DEFLATE_DICTIONARY = new ResourceCodec() {
+        @Override
+        public String extension() {
+            return ".zdict";
+        }
+
+        @Override
+        public InputStream decode(InputStream encoded) {
+            return new DictionaryInflaterInputStream(encoded, DictionaryHolder.DICTIONARY);
+        }
+    };
+
+    private static volatile List<ResourceCodec> codecs;
+
+    private BuiltinCodecs() {}
+
+    /**
+     * @return the built-in codecs followed by any provided through the service loader
+     */
+    static List<ResourceCodec> codecs() {
+        List<ResourceCodec> result = codecs;
+        if (result == null) {
+            List<ResourceCodec> loaded = new ArrayList<>(List.of(GZIP, DEFLATE_DICTIONARY));
+            ServiceLoader.load(ResourceCodec.class, MinestomData.class.getClassLoader()).forEach(loaded::add);
+            codecs = result = List.copyOf(loaded);
+        }
+        return result;
+    }
+
+    private static final class DictionaryHolder {
+        private static final byte[] DICTIONARY;
+
+        static {
+            try (InputStream stream = MinestomData.class.getResourceAsStream(DICTIONARY_PATH)) {
+                if (stream == null) throw new IllegalStateException("Missing deflate dictionary " + DICTIONARY_PATH);
+                DICTIONARY = stream.readAllBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Supplies the preset dictionary once the zlib header asks for it, which {@link InflaterInputStream} would
+     * otherwise treat as the end of the stream.
+     */
+    private static final class DictionaryInflaterInputStream extends InflaterInputStream {
+        private final byte[] dictionary;
+
+        DictionaryInflaterInputStream(InputStream in, byte[] dictionary) {
+            super(in, new Inflater());
+            this.dictionary = dictionary;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read == -1 && inf.needsDictionary()) {
+                inf.setDictionary(dictionary);
+                read = super.read(b, off, len);
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            super.close();
+            // The inflater was created here rather than by the super class, so it is not ended on close
+            inf.end();
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package net.minestom.data;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads a section of a {@link DataSet} value by value, in the manner of a streaming json reader.
+ * <p>
+ * Arrays which were written as typed columns read like any other array, and can also be read at once into a
+ * primitive array with {@link #nextIntArray()}, {@link #nextDoubleArray()}, {@link #nextStringArray()} or
+ * {@link #nextBooleanArray()}.
+ * <p>
+ * A reader must only be used by a single thread.
+ */
+public final class DataReader {
+    // Must match the generator's DataGenBinary
+    private static final int NULL = 0;
+    private static final int FALSE = 1;
+    private static final int TRUE = 2;
+    private static final int INT = 3;
+    private static final int DOUBLE = 4;
+    private static final int STRING = 5;
+    private static final int ARRAY = 6;
+    private static final int OBJECT = 7;
+    private static final int INT_COLUMN = 8;
+    private static final int DOUBLE_COLUMN = 9;
+    private static final int STRING_COLUMN = 10;
+    private static final int BOOLEAN_COLUMN = 11;
+
+    /**
+     * The type of the next value.
+     */
+    public enum Type {
+        NULL, BOOLEAN, INT, DOUBLE, STRING, ARRAY, OBJECT, END
+    }
+
+    private final DataSet dataSet;
+    private final ByteBuffer buffer;
+
+    // The open containers, the innermost last
+    private int[] kinds = new int[16];
+    private int[] remaining = new int[16];
+    // Index of the next element within a boolean column, whose bits start at the buffer position
+    private int[] bitIndex = new int[16];
+    private int depth;
+    private boolean nameRead;
+
+    DataReader(DataSet dataSet, ByteBuffer buffer) {
+        this.dataSet = dataSet;
+        this.buffer = buffer;
+    }
+
+    /**
+     * @return the type of the next value, or {@link Type#END} at the end of the current array or object
+     */
+    public Type peek() {
+        if (depth > 0 && remaining[depth - 1] == 0) return Type.END;
+        if (depth == 0 && !buffer.hasRemaining()) return Type.END;
+        final int kind = depth > 0 ? kinds[depth - 1] : OBJECT;
+        return switch (kind) {
+            case INT_COLUMN -> Type.INT;
+            case DOUBLE_COLUMN -> Type.DOUBLE;
+            case STRING_COLUMN -> Type.STRING;
+            case BOOLEAN_COLUMN -> Type.BOOLEAN;
+            default -> {
+                if (kind == OBJECT && depth > 0 && !nameRead) throw new IllegalStateException("Expected a name, see nextName()");
+                yield typeOf(buffer.get(buffer.position()));
+            }
+        };
+    }
+
+    /**
+     * @return whether the current array or object has more elements
+     */
+    public boolean hasNext() {
+        return depth == 0 ? buffer.hasRemaining() : remaining[depth - 1] > 0;
+    }
+
+    public void beginObject() {
+        final int tag = valueTag();
+        if (tag != OBJECT) throw unexpected("an object", tag);
+        push(OBJECT, readVarInt(buffer));
+    }
+
+    public void endObject() {
+        pop(OBJECT);
+    }
+
+    /**
+     * @return the key of the next entry of the current object
+     */
+    public String nextName() {
+        if (depth == 0 || kinds[depth - 1] != OBJECT) throw new IllegalStateException("Not in an object");
+        if (nameRead) throw new IllegalStateException("The name was already read");
+        if (remaining[depth - 1] == 0) throw new NoSuchElementException("End of object");
+        nameRead = true;
+        return dataSet.string(readVarInt(buffer));
+    }
+
+    /**
+     * Begins an array, including one written as a typed column.
+     */
+    public void beginArray() {
+        final int tag = valueTag();
+        if (tag != ARRAY && !isColumn(tag)) throw unexpected("an array", tag);
+        push(tag, readVarInt(buffer));
+    }
+
+    public void endArray() {
+        if (depth == 0 || kinds[depth - 1] == OBJECT) throw new IllegalStateException("Not in an array");
+        if (remaining[depth - 1] != 0) throw new IllegalStateException(remaining[depth - 1] + " elements left");
+        if (kinds[depth - 1] == BOOLEAN_COLUMN) skipBits(bitIndex[depth - 1]);
+        depth--;
+    }
+
+    public boolean nextBoolean() {
+        final int column = column();
+        if (column == BOOLEAN_COLUMN) {
+            final int index = bitIndex[depth - 1]++;
+            return (buffer.get(buffer.position() + (index >> 3)) & (1 << (index & 7))) != 0;
+        }
+        if (column != -1) throw unexpected("a boolean", column);
+        final int tag = valueTag();
+        if (tag == TRUE) return true;
+        if (tag == FALSE) return false;
+        throw unexpected("a boolean", tag);
+    }
+
+    public long nextLong() {
+        final int column = column();
+        final int tag = column != -1 ? column : valueTag();
+        return switch (tag) {
+            case INT, INT_COLUMN -> zigZag(readVarLong(buffer));
+            case DOUBLE, DOUBLE_COLUMN -> (long) buffer.getDouble();
+            default -> throw unexpected("a number", tag);
+        };
+    }
+
+    public int nextInt() {
+        return Math.toIntExact(nextLong());
+    }
+
+    public double nextDouble() {
+        final int column = column();
+        final int tag = column != -1 ? column : valueTag();
+        return switch (tag) {
+            case INT, INT_COLUMN -> zigZag(readVarLong(buffer));
+            case DOUBLE, DOUBLE_COLUMN -> buffer.getDouble();
+            default -> throw unexpected("a number", tag);
+        };
+    }
+
+    public float nextFloat() {
+        return (float) nextDouble();
+    }
+
+    public String nextString() {
+        final int column = column();
+        final int tag = column != -1 ? column : valueTag();
+        if (tag != STRING && tag != STRING_COLUMN) throw unexpected("a string", tag);
+        return dataSet.string(readVarInt(buffer));
+    }
+
+    public void nextNull() {
+        final int tag = valueTag();
+        if (tag != NULL) throw unexpected("null", tag);
+    }
+
+    /**
+     * Skips the next value, including any nested value.
+     */
+    public void skipValue() {
+        final int column = column();
+        if (column != -1) {
+            switch (column) {
+                case INT_COLUMN -> readVarLong(buffer);
+                case DOUBLE_COLUMN -> buffer.getDouble();
+                case STRING_COLUMN -> readVarInt(buffer);
+                default -> bitIndex[depth - 1]++;
+            }
+            return;
+        }
+        skip(valueTag());
+    }
+
+    /**
+     * Reads an array of integers at once, fastest when it was written as a column.
+     */
+    public int[] nextIntArray() {
+        beginArray();
+        int[] values = new int[remaining[depth - 1]];
+        for (int i = 0; i < values.length; i++) values[i] = nextInt();
+        endArray();
+        return values;
+    }
+
+    public double[] nextDoubleArray() {
+        beginArray();
+        double[] values = new double[remaining[depth - 1]];
+        for (int i = 0; i < values.length; i++) values[i] = nextDouble();
+        endArray();
+        return values;
+    }
+
+    public String[] nextStringArray() {
+        beginArray();
+        String[] values = new String[remaining[depth - 1]];
+        for (int i = 0; i < values.length; i++) values[i] = nextString();
+        endArray();
+        return values;
+    }
+
+    public boolean[] nextBooleanArray() {
+        beginArray();
+        boolean[] values = new boolean[remaining[depth - 1]];
+        for (int i = 0; i < values.length; i++) values[i] = nextBoolean();
+        endArray();
+        return values;
+    }
+
+    /**
+     * Reads the tag of the next value, which must not be an element of a column.
+     */
+    private int valueTag() {
+        if (depth > 0) {
+            if (remaining[depth - 1] == 0) throw new NoSuchElementException("No more elements");
+            if (kinds[depth - 1] == OBJECT) {
+                if (!nameRead) throw new IllegalStateException("Expected a name, see nextName()");
+                nameRead = false;
+            } else if (kinds[depth - 1] != ARRAY) {
+                throw new IllegalStateException("Typed column elements cannot be nested values");
+            }
+            remaining[depth - 1]--;
+        }
+        return buffer.get() & 0xFF;
+    }
+
+    /**
+     * Consumes an element of the current column.
+     *
+     * @return the column type, or -1 if the current container is not a column
+     */
+    private int column() {
+        if (depth == 0 || !isColumn(kinds[depth - 1])) return -1;
+        if (remaining[depth - 1] == 0) throw new NoSuchElementException("No more elements");
+        remaining[depth - 1]--;
+        return kinds[depth - 1];
+    }
+
+    private void skip(int tag) {
+        switch (tag) {
+            case NULL, FALSE, TRUE -> {
+            }
+            case INT -> readVarLong(buffer);
+            case DOUBLE -> buffer.getDouble();
+            case STRING -> readVarInt(buffer);
+            case ARRAY -> {
+                final int count = readVarInt(buffer);
+                for (int i = 0; i < count; i++) skip(buffer.get() & 0xFF);
+            }
+            case OBJECT -> {
+                final int count = readVarInt(buffer);
+                for (int i = 0; i < count; i++) {
+                    readVarInt(buffer);
+                    skip(buffer.get() & 0xFF);
+                }
+            }
+            case INT_COLUMN, STRING_COLUMN -> {
+                final int count = readVarInt(buffer);
+                for (int i = 0; i < count; i++) readVarLong(buffer);
+            }
+            case DOUBLE_COLUMN -> {
+                final int count = readVarInt(buffer);
+                buffer.position(buffer.position() + count * Double.BYTES);
+            }
+            case BOOLEAN_COLUMN -> skipBits(readVarInt(buffer));
+            default -> throw new IllegalStateException("Unknown tag " + tag);
+        }
+    }
+
+    private void skipBits(int count) {
+        buffer.position(buffer.position() + (count + 7) / 8);
+    }
+
+    private void push(int kind, int count) {
+        if (depth == kinds.length) {
+            kinds = Arrays.copyOf(kinds, depth * 2);
+            remaining = Arrays.copyOf(remaining, depth * 2);
+            bitIndex = Arrays.copyOf(bitIndex, depth * 2);
+        }
+        kinds[depth] = kind;
+        remaining[depth] = count;
+        bitIndex[depth] = 0;
+        depth++;
+    }
+
+    private void pop(int kind) {
+        if (depth == 0 || kinds[depth - 1] != kind) throw new IllegalStateException("Not in an object");
+        if (remaining[depth - 1] != 0) throw new IllegalStateException(remaining[depth - 1] + " entries left");
+        depth--;
+    }
+
+    private static Type typeOf(int tag) {
+        return switch (tag) {
+            case NULL -> Type.NULL;
+            case FALSE, TRUE -> Type.BOOLEAN;
+            case INT -> Type.INT;
+            case DOUBLE -> Type.DOUBLE;
+            case STRING -> Type.STRING;
+            case ARRAY, INT_COLUMN, DOUBLE_COLUMN, STRING_COLUMN, BOOLEAN_COLUMN -> Type.ARRAY;
+            case OBJECT -> Type.OBJECT;
+            default -> throw new IllegalStateException("Unknown tag " + tag);
+        };
+    }
+
+    private static IllegalStateException unexpected(String expected, int tag) {
+        return new IllegalStateException("Expected " + expected + " but was " + (isColumn(tag) ? "a column" : typeOf(tag)));
+    }
+
+    private static boolean isColumn(int tag) {
+        return tag == INT_COLUMN || tag == DOUBLE_COLUMN || tag == STRING_COLUMN || tag == BOOLEAN_COLUMN;
+    }
+
+    private static long zigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static int readVarInt(ByteBuffer buffer) {
+        return Math.toIntExact(readVarLong(buffer));
+    }
+
+    static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (shift >= 64) throw new IllegalStateException("Varint is too long");
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
@@ -0,0 +1,131 @@
+package net.minestom.data;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The binary dataset packing every generated json file, written by the generator with {@code --binary}.
+ * <p>
+ * Each section holds the content of one file (e.g. {@code block} or {@code tags/item}) and is read through a
+ * {@link DataReader}, which decodes values as they are requested instead of building a tree. Keys and string values
+ * come from a table shared by all sections, each string is decoded once.
+ * <p>
+ * Instances are immutable and can be read from any number of threads, each with its own reader.
+ */
+public final class DataSet {
+    /**
+     * The path of the dataset resource, relative to /net/minestom/data.
+     */
+    public static final String RESOURCE = "dataset.bin";
+
+    private static final byte[] MAGIC = {'M', 'S', 'D', 'B'};
+    private static final int VERSION = 1;
+
+    private final ByteBuffer buffer;
+    private final int[] stringOffsets;
+    private final String[] strings;
+    private final Map<String, Section> sections;
+
+    private DataSet(ByteBuffer buffer) {
+        this.buffer = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+        ByteBuffer header = this.buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        for (byte expected : MAGIC) {
+            if (header.get() != expected) throw new IllegalArgumentException("Not a Minestom dataset");
+        }
+        final int version = header.get() & 0xFF;
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported dataset version " + version + ", expected " + VERSION);
+        }
+        // Only the offsets are read up front, strings are decoded on first use
+        this.stringOffsets = new int[DataReader.readVarInt(header)];
+        for (int i = 0; i < stringOffsets.length; i++) {
+            stringOffsets[i] = header.position();
+            final int length = DataReader.readVarInt(header);
+            header.position(header.position() + length);
+        }
+        this.strings = new String[stringOffsets.length];
+        final int sectionCount = DataReader.readVarInt(header);
+        final int[][] entries = new int[sectionCount][];
+        for (int i = 0; i < sectionCount; i++) {
+            entries[i] = new int[]{DataReader.readVarInt(header), DataReader.readVarInt(header), DataReader.readVarInt(header)};
+        }
+        final int dataStart = header.position();
+        Map<String, Section> sections = new LinkedHashMap<>();
+        for (int[] entry : entries) {
+            sections.put(string(entry[0]), new Section(dataStart + entry[1], entry[2]));
+        }
+        this.sections = Collections.unmodifiableMap(sections);
+    }
+
+    /**
+     * Reads the dataset shipped with this module, directly from the memory shared by {@link MinestomData#buffer(String)}.
+     *
+     * @return the dataset, or null if it was not generated
+     */
+    public static DataSet load() {
+        final ByteBuffer buffer = MinestomData.buffer(RESOURCE);
+        return buffer != null ? read(buffer) : null;
+    }
+
+    /**
+     * Reads a dataset from its bytes, between the position and the limit of the buffer. The buffer is not copied
+     * and must not be modified afterwards.
+     *
+     * @param buffer the dataset
+     * @return the dataset
+     * @throws IllegalArgumentException if the buffer does not hold a supported dataset
+     */
+    public static DataSet read(ByteBuffer buffer) {
+        return new DataSet(buffer);
+    }
+
+    /**
+     * @return the names of the sections, in the order they were written
+     */
+    public Set<String> sections() {
+        return sections.keySet();
+    }
+
+    /**
+     * @param name the section name, the generated file path without extension (e.g. {@code worldgen/biome})
+     * @return whether the section exists
+     */
+    public boolean has(String name) {
+        return sections.containsKey(name);
+    }
+
+    /**
+     * Opens a reader positioned before the value of a section.
+     *
+     * @param name the section name, the generated file path without extension (e.g. {@code worldgen/biome})
+     * @return a new reader
+     * @throws IllegalArgumentException if the section does not exist
+     */
+    public DataReader reader(String name) {
+        final Section section = sections.get(name);
+        if (section == null) throw new IllegalArgumentException("Unknown section '" + name + "'");
+        return new DataReader(this, buffer.slice(section.offset(), section.length()).order(ByteOrder.LITTLE_ENDIAN));
+    }
+
+    String string(int index) {
+        String string = strings[index];
+        if (string == null) {
+            // Racing threads decode the same value, which is harmless
+            ByteBuffer view = buffer.duplicate();
+            view.position(stringOffsets[index]);
+            final int length = DataReader.readVarInt(view);
+            byte[] bytes = new byte[length];
+            view.get(bytes);
+            strings[index] = string = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return string;
+    }
+
+    private record Section(int offset, int length) {
+    }
+}
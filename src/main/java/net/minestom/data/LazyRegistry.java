@@ -0,0 +1,163 @@
+package net.minestom.data;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * A registry file whose entries are only decoded when first accessed, using the offset index the generator writes
+ * next to large files ({@code <path>.idx}).
+ * <p>
+ * The module does not depend on a json library, so entries are decoded by the caller from the json text of their
+ * value. Each entry is decoded at most once, and the decoded value is shared.
+ *
+ * @param <T> the decoded entry type
+ */
+public final class LazyRegistry<T> {
+    private static final byte[] MAGIC = {'M', 'S', 'D', 'X'};
+    private static final int VERSION = 1;
+
+    private final String path;
+    private final MemorySegment content;
+    private final Function<String, ? extends T> decoder;
+    private final List<String> keys;
+    private final Map<String, Integer> indexByKey;
+    private final int[] indexById;
+    private final long[] offsets;
+    private final int[] lengths;
+    private final AtomicReferenceArray<T> values;
+
+    private LazyRegistry(String path, MemorySegment content, ByteBuffer index, Function<String, ? extends T> decoder) {
+        this.path = path;
+        this.content = content;
+        this.decoder = decoder;
+        for (byte expected : MAGIC) {
+            if (index.get() != expected) throw new IllegalArgumentException("Not an index: " + path);
+        }
+        final int version = index.get() & 0xFF;
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported index version " + version + " for " + path + ", expected " + VERSION);
+        }
+        final int count = DataReader.readVarInt(index);
+        String[] keys = new String[count];
+        this.indexByKey = HashMap.newHashMap(count);
+        this.offsets = new long[count];
+        this.lengths = new int[count];
+        int[] ids = new int[count];
+        int maxId = -1;
+        for (int i = 0; i < count; i++) {
+            byte[] key = new byte[DataReader.readVarInt(index)];
+            index.get(key);
+            keys[i] = new String(key, StandardCharsets.UTF_8);
+            indexByKey.put(keys[i], i);
+            ids[i] = DataReader.readVarInt(index) - 1;
+            maxId = Math.max(maxId, ids[i]);
+            offsets[i] = DataReader.readVarInt(index);
+            lengths[i] = DataReader.readVarInt(index);
+        }
+        this.keys = List.of(keys);
+        this.indexById = new int[maxId + 1];
+        Arrays.fill(indexById, -1);
+        for (int i = 0; i < count; i++) {
+            if (ids[i] >= 0) indexById[ids[i]] = i;
+        }
+        this.values = new AtomicReferenceArray<>(count);
+    }
+
+    /**
+     * Opens a generated registry file of this module.
+     *
+     * @param path    the path of the file (relative to /net/minestom/data), e.g. {@code block.json}
+     * @param decoder decodes the json text of an entry value
+     * @return the registry, or null if the file or its index does not exist
+     */
+    public static <T> LazyRegistry<T> open(String path, Function<String, ? extends T> decoder) {
+        Objects.requireNonNull(decoder, "decoder");
+        final ByteBuffer index = MinestomData.buffer(path + ".idx");
+        if (index == null) return null;
+        final MemorySegment content = MinestomData.segment(path);
+        if (content == null) return null;
+        return new LazyRegistry<>(path, content, index, decoder);
+    }
+
+    /**
+     * Reads a registry file from memory, e.g. one generated outside of this module.
+     *
+     * @param content the content of the file
+     * @param index   the offset index of the file, read from its position
+     * @param decoder decodes the json text of an entry value
+     * @return the registry
+     * @throws IllegalArgumentException if the index is not a supported one
+     */
+    public static <T> LazyRegistry<T> read(MemorySegment content, ByteBuffer index, Function<String, ? extends T> decoder) {
+        Objects.requireNonNull(decoder, "decoder");
+        return new LazyRegistry<>("memory", content, index.duplicate(), decoder);
+    }
+
+    /**
+     * @return the number of entries
+     */
+    public int size() {
+        return keys.size();
+    }
+
+    /**
+     * @return the keys of the entries in file order, without decoding any of them
+     */
+    public List<String> keys() {
+        return keys;
+    }
+
+    /**
+     * @param key the entry key, e.g. {@code minecraft:stone}
+     * @return the decoded entry, or null if there is none
+     */
+    public T get(String key) {
+        final Integer index = indexByKey.get(key);
+        return index != null ? decode(index) : null;
+    }
+
+    /**
+     * @param id the {@code id} field of the entry
+     * @return the decoded entry, or null if there is none
+     */
+    public T get(int id) {
+        if (id < 0 || id >= indexById.length || indexById[id] == -1) return null;
+        return decode(indexById[id]);
+    }
+
+    /**
+     * @param key the entry key, e.g. {@code minecraft:stone}
+     * @return the json text of the entry value as read-only UTF-8 bytes, or null if there is none
+     */
+    public ByteBuffer raw(String key) {
+        final Integer index = indexByKey.get(key);
+        return index != null ? slice(index).asByteBuffer() : null;
+    }
+
+    private T decode(int index) {
+        T value = values.get(index);
+        if (value != null) return value;
+        final MemorySegment slice = slice(index);
+        final String json = StandardCharsets.UTF_8.decode(slice.asByteBuffer()).toString();
+        final T decoded = Objects.requireNonNull(decoder.apply(json), () -> "Decoded null for " + keys.get(index) + " in " + path);
+        // Racing threads may decode the same entry, only the first result is kept
+        return values.compareAndSet(index, null, decoded) ? decoded : values.get(index);
+    }
+
+    private MemorySegment slice(int index) {
+        return content.asSlice(offsets[index], lengths[index]);
+    }
+
+    @Override
+    public String toString() {
+        return "LazyRegistry[" + path + ", " + keys.size() + " entries]";
+    }
+}
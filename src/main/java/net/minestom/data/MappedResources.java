@@ -0,0 +1,215 @@
+package net.minestom.data;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maps resources into memory once per process.
+ * <p>
+ * Resources in a directory are mapped in place. Resources in a jar (or only present compressed) are decoded once
+ * into a cache directory shared by every process of the user, then mapped from there, so those processes share the
+ * same pages. When the cache cannot be used, the resource is copied to the heap once instead.
+ * <p>
+ * Cache files are named after the checksum the generator wrote next to each resource ({@code <path>.sha256}, holding
+ * the hex SHA-256 and the size of the decoded content), so a cached file is reused without decoding or hashing the
+ * resource. The cache directory is only used when it is owned by the current user and not writable by anyone else,
+ * and a cached file is only mapped when it is a regular file of that user with the expected size. Resources without
+ * a checksum are copied to the heap.
+ * <p>
+ * The cache directory is {@code <user.home>/.cache/minestom-data} unless set with
+ * {@code -Dminestom.data.cache=<dir>}, {@code -Dminestom.data.cache=none} disables it.
+ */
+final class MappedResources {
+    private static final System.Logger LOGGER = System.getLogger(MappedResources.class.getName());
+    private static final Map<String, MemorySegment> SEGMENTS = new ConcurrentHashMap<>();
+    private static final String CHECKSUM_EXTENSION = ".sha256";
+    private static final Pattern CHECKSUM = Pattern.compile("([0-9a-f]{64}) ([0-9]{1,18})");
+
+    private MappedResources() {}
+
+    /**
+     * @param path the path (relative to /net/minestom/data)
+     * @return the read-only content of the resource, or null if it does not exist
+     */
+    static MemorySegment segment(String path) {
+        // Concurrent first requests for the same path wait for a single load
+        return SEGMENTS.computeIfAbsent(path, MappedResources::load);
+    }
+
+    private static MemorySegment load(String path) {
+        URL source = MinestomData.class.getResource(path);
+        try {
+            if (source != null && source.getProtocol().equals("file")) {
+                return map(Path.of(source.toURI()));
+            }
+            if (source == null) {
+                for (ResourceCodec codec : BuiltinCodecs.codecs()) {
+                    source = MinestomData.class.getResource(path + codec.extension());
+                    if (source != null) break;
+                }
+                if (source == null) return null;
+            }
+            final Path cacheDirectory = cacheDirectory();
+            if (cacheDirectory != null) {
+                try {
+                    final MemorySegment cached = cached(path, cacheDirectory);
+                    if (cached != null) return cached;
+                } catch (IOException e) {
+                    LOGGER.log(System.Logger.Level.WARNING, "Failed to cache " + path + " in " + cacheDirectory + ", copying it to the heap", e);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map " + path, e);
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Invalid resource location " + source, e);
+        }
+        try (InputStream stream = MinestomData.resource(path)) {
+            return MemorySegment.ofArray(stream.readAllBytes()).asReadOnly();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + path, e);
+        }
+    }
+
+    private static Path cacheDirectory() {
+        final String property = System.getProperty("minestom.data.cache");
+        if ("none".equals(property)) return null;
+        return property != null ? Path.of(property) : Path.of(System.getProperty("user.home"), ".cache", "minestom-data");
+    }
+
+    /**
+     * Maps the resource from the cache, decoding it into the cache unless a previous run (of any process) already did.
+     *
+     * @return the mapped file, or null if the resource has no checksum or the cache cannot be trusted
+     */
+    private static MemorySegment cached(String path, Path cacheDirectory) throws IOException {
+        final Checksum checksum = checksum(path);
+        if (checksum == null) {
+            LOGGER.log(System.Logger.Level.DEBUG, "Not caching " + path + ", it has no checksum");
+            return null;
+        }
+        if (!prepareDirectory(cacheDirectory)) {
+            LOGGER.log(System.Logger.Level.WARNING, "Not caching " + path + ", " + cacheDirectory + " must be owned and only writable by the current user");
+            return null;
+        }
+        // Named after the content, so a different version of the data never reuses the file
+        final Path target = cacheDirectory.resolve(checksum.hash() + "-" + path.replace('/', '_'));
+        if (!Files.exists(target, LinkOption.NOFOLLOW_LINKS)) {
+            final Path temp = Files.createTempFile(cacheDirectory, checksum.hash(), ".tmp");
+            try {
+                final MessageDigest digest = sha256();
+                try (InputStream stream = new DigestInputStream(MinestomData.resource(path), digest)) {
+                    Files.copy(stream, temp, StandardCopyOption.REPLACE_EXISTING);
+                }
+                if (!HexFormat.of().formatHex(digest.digest()).equals(checksum.hash())) {
+                    LOGGER.log(System.Logger.Level.WARNING, "Not caching " + path + ", its content does not match its checksum");
+                    return null;
+                }
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                return map(target);
+            } catch (FileAlreadyExistsException e) {
+                // Another process finished first
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+
+        // Written by an earlier run, which may have been interrupted
+        if (!Files.isRegularFile(target, LinkOption.NOFOLLOW_LINKS) || !ownedByCurrentUser(target)) {
+            LOGGER.log(System.Logger.Level.WARNING, "Not mapping " + target + ", it is not a file owned by the current user");
+            return null;
+        }
+        final MemorySegment segment = map(target);
+        if (segment.byteSize() != checksum.size()) {
+            LOGGER.log(System.Logger.Level.WARNING, "Not mapping " + target + ", its size differs from " + path);
+            return null;
+        }
+        return segment;
+    }
+
+    /**
+     * @return the checksum written by the generator next to the resource, or null if there is none
+     */
+    private static Checksum checksum(String path) throws IOException {
+        try (InputStream stream = MinestomData.class.getResourceAsStream(path + CHECKSUM_EXTENSION)) {
+            if (stream == null) return null;
+            final Matcher matcher = CHECKSUM.matcher(new String(stream.readAllBytes(), StandardCharsets.US_ASCII).trim());
+            if (!matcher.matches()) return null;
+            return new Checksum(matcher.group(1), Long.parseLong(matcher.group(2)));
+        }
+    }
+
+    /**
+     * Creates the directory if needed, only readable and writable by the current user.
+     *
+     * @return whether the directory can be trusted
+     */
+    private static boolean prepareDirectory(Path directory) throws IOException {
+        final boolean posix = directory.getFileSystem().supportedFileAttributeViews().contains("posix");
+        if (!Files.isDirectory(directory, LinkOption.NOFOLLOW_LINKS)) {
+            if (posix) {
+                Files.createDirectories(directory, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+            } else {
+                Files.createDirectories(directory);
+            }
+        }
+        if (!Files.isDirectory(directory, LinkOption.NOFOLLOW_LINKS) || !ownedByCurrentUser(directory)) return false;
+        if (posix) {
+            final Set<PosixFilePermission> permissions = Files.getPosixFilePermissions(directory, LinkOption.NOFOLLOW_LINKS);
+            return !permissions.contains(PosixFilePermission.GROUP_WRITE) && !permissions.contains(PosixFilePermission.OTHERS_WRITE);
+        }
+        return true;
+    }
+
+    private static boolean ownedByCurrentUser(Path path) throws IOException {
+        final UserPrincipal user = path.getFileSystem().getUserPrincipalLookupService()
+                .lookupPrincipalByName(System.getProperty("user.name"));
+        return Files.getOwner(path, LinkOption.NOFOLLOW_LINKS).equals(user);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required by every Java platform", e);
+        }
+    }
+
+    private static MemorySegment map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping outlives the channel and stays for the lifetime of the process, like the cache entry
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), Arena.global()).asReadOnly();
+        }
+    }
+
+    /**
+     * @param hash the hex SHA-256 of the decoded resource
+     * @param size the size of the decoded resource
+     */
+    private record Checksum(String hash, long size) {
+    }
+}
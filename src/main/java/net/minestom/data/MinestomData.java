@@ -1,6 +1,10 @@
 package net.minestom.data;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
 
 /**
  * Autogenerated data derived from <a href="https://github.com/Minestom/MinestomDataGenerator">MinestomDataGenerator</a>
@@ -15,6 +19,8 @@ public final class MinestomData {
 
     /**
      * Gets a resource from the data module.
+     * <p>
+     * If only a compressed variant of the resource is present (see {@link ResourceCodec}), it is decoded transparently.
      *
      * @param path the path (relative to /net/minestom/data)
      * @return the resource from the data module, or null
@@ -22,7 +28,43 @@ public final class MinestomData {
     public static InputStream resource(String path) {
         // Required to execute here as getModule() returns this module
         // Otherwise would fail cause of encapsulation or would require opens.
-        return MinestomData.class.getResourceAsStream(path);
+        InputStream plain = MinestomData.class.getResourceAsStream(path);
+        if (plain != null) return plain;
+        for (ResourceCodec codec : BuiltinCodecs.codecs()) {
+            InputStream encoded = MinestomData.class.getResourceAsStream(path + codec.extension());
+            if (encoded == null) continue;
+            try {
+                return codec.decode(encoded);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to decode " + path + codec.extension(), e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets a resource from the data module as read-only memory, without copying it for each caller.
+     * <p>
+     * The resource is loaded once per process and mapped from the file system when possible, compressed variants
+     * are decoded once. Resources inside a jar are extracted to a cache directory shared between processes, see
+     * the {@code minestom.data.cache} system property.
+     *
+     * @param path the path (relative to /net/minestom/data)
+     * @return the content of the resource, or null
+     */
+    public static MemorySegment segment(String path) {
+        return MappedResources.segment(path);
+    }
+
+    /**
+     * Gets a resource from the data module as a read-only buffer, see {@link #segment(String)}.
+     *
+     * @param path the path (relative to /net/minestom/data)
+     * @return a new buffer over the content of the resource, or null
+     */
+    public static ByteBuffer buffer(String path) {
+        final MemorySegment segment = segment(path);
+        return segment != null ? segment.asByteBuffer() : null;
     }
 
     private MinestomData() {}
@@ -0,0 +1,144 @@
+package net.minestom.data;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Maps the keys of a registry to their ids and back, through the minimal perfect hash the generator writes next to
+ * each registry file whose entries all have an id ({@code <path>.mph}).
+ * <p>
+ * Lookups by key do not allocate and accept any {@link CharSequence}, e.g. a slice of a command being parsed.
+ * Instances are immutable and safe to share between threads.
+ */
+public final class RegistryKeys {
+    private static final byte[] MAGIC = {'M', 'S', 'P', 'H'};
+    private static final int VERSION = 1;
+
+    private final int[] seeds;
+    private final int[] slotIds;
+    // The ascii keys of every slot, back to back
+    private final byte[] pool;
+    private final int[] poolOffsets;
+    private final int[] slotById;
+    private final String[] keys;
+
+    private RegistryKeys(ByteBuffer buffer) {
+        for (byte expected : MAGIC) {
+            if (buffer.get() != expected) throw new IllegalArgumentException("Not a key hash");
+        }
+        final int version = buffer.get() & 0xFF;
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported key hash version " + version + ", expected " + VERSION);
+        }
+        final int keyCount = DataReader.readVarInt(buffer);
+        this.seeds = new int[DataReader.readVarInt(buffer)];
+        for (int i = 0; i < seeds.length; i++) seeds[i] = DataReader.readVarInt(buffer);
+
+        this.slotIds = new int[keyCount];
+        this.poolOffsets = new int[keyCount + 1];
+        byte[] pool = new byte[Math.max(16, buffer.remaining())];
+        int poolSize = 0;
+        int maxId = -1;
+        for (int slot = 0; slot < keyCount; slot++) {
+            slotIds[slot] = DataReader.readVarInt(buffer);
+            maxId = Math.max(maxId, slotIds[slot]);
+            final int length = DataReader.readVarInt(buffer);
+            buffer.get(pool, poolSize, length);
+            poolOffsets[slot] = poolSize;
+            poolSize += length;
+        }
+        poolOffsets[keyCount] = poolSize;
+        this.pool = Arrays.copyOf(pool, poolSize);
+        this.slotById = new int[maxId + 1];
+        Arrays.fill(slotById, -1);
+        for (int slot = 0; slot < keyCount; slot++) slotById[slotIds[slot]] = slot;
+        this.keys = new String[keyCount];
+    }
+
+    /**
+     * Opens the keys of a generated registry file of this module.
+     *
+     * @param path the path of the registry file (relative to /net/minestom/data), e.g. {@code block.json}
+     * @return the keys, or null if the registry has no key hash
+     */
+    public static RegistryKeys open(String path) {
+        final ByteBuffer buffer = MinestomData.buffer(path + ".mph");
+        return buffer != null ? read(buffer) : null;
+    }
+
+    /**
+     * @param buffer an encoded key hash, read from its position
+     * @return the keys
+     * @throws IllegalArgumentException if the buffer does not hold a supported key hash
+     */
+    public static RegistryKeys read(ByteBuffer buffer) {
+        return new RegistryKeys(buffer.duplicate());
+    }
+
+    /**
+     * @return the number of keys
+     */
+    public int size() {
+        return slotIds.length;
+    }
+
+    /**
+     * @param key the key, e.g. {@code minecraft:stone}
+     * @return the id of the key, or -1 if it is not part of the registry
+     */
+    public int idOf(CharSequence key) {
+        if (slotIds.length == 0) return -1;
+        final long hash = hash(key);
+        final int slot = slot(hash, seeds[bucket(hash, seeds.length)], slotIds.length);
+        // Unknown keys land on an arbitrary slot, so the key is always compared
+        final int start = poolOffsets[slot];
+        final int length = poolOffsets[slot + 1] - start;
+        if (key.length() != length) return -1;
+        for (int i = 0; i < length; i++) {
+            if (key.charAt(i) != pool[start + i]) return -1;
+        }
+        return slotIds[slot];
+    }
+
+    /**
+     * @param id the id of a key
+     * @return the key, or null if no key has this id
+     */
+    public String keyOf(int id) {
+        if (id < 0 || id >= slotById.length) return null;
+        final int slot = slotById[id];
+        if (slot == -1) return null;
+        String key = keys[slot];
+        if (key == null) {
+            // Racing threads create equal strings, which is harmless
+            final int start = poolOffsets[slot];
+            keys[slot] = key = new String(pool, start, poolOffsets[slot + 1] - start, StandardCharsets.US_ASCII);
+        }
+        return key;
+    }
+
+    // The hash functions must match the generator's DataGenKeyHash
+
+    private static long hash(CharSequence key) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static int bucket(long hash, int bucketCount) {
+        return (int) Long.remainderUnsigned(hash, bucketCount);
+    }
+
+    private static int slot(long hash, int seed, int keyCount) {
+        return (int) Long.remainderUnsigned(mix(hash ^ (seed * 0x9E3779B97F4A7C15L)), keyCount);
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+        value = (value ^ (value >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return value ^ (value >>> 33);
+    }
+}
@@ -0,0 +1,228 @@
+package net.minestom.data;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caches decoded resources so that libraries reading the same file (e.g. {@code item.json}) into the same type
+ * share a single decoded value.
+ * <p>
+ * Values are kept in least recently used order and evicted once their total weight exceeds the byte budget, the
+ * weight of a value being the number of bytes its decoder read. Concurrent requests for a value which is not cached
+ * yet wait for a single decoder call.
+ * <p>
+ * The budget of the {@link #shared() shared} cache is 64MiB unless set with {@code -Dminestom.data.cacheBudget=<bytes>}.
+ */
+public final class ResourceCache {
+    private static final long DEFAULT_BUDGET = 64L * 1024 * 1024;
+
+    private final long budget;
+    // Guarded by itself, in access order
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Key, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+    private long weight;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private ResourceCache(long budget) {
+        if (budget < 0) throw new IllegalArgumentException("Negative budget " + budget);
+        this.budget = budget;
+    }
+
+    /**
+     * @return the process-wide cache
+     */
+    public static ResourceCache shared() {
+        return SharedHolder.CACHE;
+    }
+
+    /**
+     * @param budget the maximum total weight of the cached values, in bytes
+     * @return a new, empty cache
+     */
+    public static ResourceCache create(long budget) {
+        return new ResourceCache(budget);
+    }
+
+    /**
+     * Decodes a resource into a value.
+     *
+     * @param <T> the decoded type
+     */
+    @FunctionalInterface
+    public interface Decoder<T> {
+        /**
+         * @param resource the resource content, see {@link MinestomData#resource(String)}
+         * @return the decoded value, not null
+         */
+        T decode(InputStream resource) throws IOException;
+    }
+
+    /**
+     * Gets the decoded value of a resource, decoding it if it is not cached.
+     * <p>
+     * Values are shared by every caller asking for the same path and type, so they should not be modified.
+     *
+     * @param path    the path (relative to /net/minestom/data)
+     * @param type    the decoded type, part of the cache key
+     * @param decoder decodes the resource when it is not cached
+     * @return the decoded value, or null if the resource does not exist
+     */
+    public <T> T get(String path, Class<T> type, Decoder<? extends T> decoder) {
+        final Key key = new Key(path, type);
+        Object value = cached(key);
+        if (value != null) {
+            hits.increment();
+            return type.cast(value);
+        }
+
+        final CompletableFuture<Object> future = new CompletableFuture<>();
+        final CompletableFuture<Object> pending = loading.putIfAbsent(key, future);
+        if (pending != null) {
+            // Another thread is decoding the same value
+            hits.increment();
+            return type.cast(join(pending));
+        }
+        try {
+            // The value may have been stored between the lookup and claiming the load
+            value = cached(key);
+            if (value == null) {
+                misses.increment();
+                value = load(key, decoder);
+            } else {
+                hits.increment();
+            }
+            future.complete(value);
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, future);
+        }
+        return type.cast(value);
+    }
+
+    /**
+     * Removes every cached value.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+            weight = 0;
+        }
+    }
+
+    /**
+     * @return the counters of this cache since it was created
+     */
+    public Stats stats() {
+        synchronized (entries) {
+            return new Stats(hits.sum(), misses.sum(), evictions.sum(), entries.size(), weight, budget);
+        }
+    }
+
+    /**
+     * @param hits      the requests answered without calling a decoder, including those which waited for another
+     * @param misses    the requests which called a decoder
+     * @param evictions the values removed to stay within the budget
+     * @param size      the number of cached values
+     * @param weight    the total weight of the cached values, in bytes
+     * @param budget    the maximum total weight, in bytes
+     */
+    public record Stats(long hits, long misses, long evictions, int size, long weight, long budget) {
+    }
+
+    private Object cached(Key key) {
+        synchronized (entries) {
+            final Entry entry = entries.get(key);
+            return entry != null ? entry.value() : null;
+        }
+    }
+
+    private Object load(Key key, Decoder<?> decoder) {
+        final InputStream resource = MinestomData.resource(key.path());
+        if (resource == null) return null;
+        final Object value;
+        final long read;
+        try (CountingInputStream stream = new CountingInputStream(resource)) {
+            value = Objects.requireNonNull(decoder.decode(stream), () -> "Decoded null for " + key.path());
+            read = stream.count;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode " + key.path(), e);
+        }
+        if (read > budget) return value; // Would evict everything else and itself
+        synchronized (entries) {
+            final Entry previous = entries.put(key, new Entry(value, read));
+            if (previous != null) weight -= previous.weight();
+            weight += read;
+            final Iterator<Entry> iterator = entries.values().iterator();
+            while (weight > budget && iterator.hasNext()) {
+                weight -= iterator.next().weight();
+                iterator.remove();
+                evictions.increment();
+            }
+        }
+        return value;
+    }
+
+    private static Object join(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            if (e.getCause() instanceof Error error) throw error;
+            throw e;
+        }
+    }
+
+    private record Key(String path, Class<?> type) {
+    }
+
+    private record Entry(Object value, long weight) {
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int read = super.read();
+            if (read != -1) count++;
+            return read;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            final int read = super.read(b, off, len);
+            if (read > 0) count += read;
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            final long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+
+    private static final class SharedHolder {
+        private static final ResourceCache CACHE = new ResourceCache(Long.getLong("minestom.data.cacheBudget", DEFAULT_BUDGET));
+    }
+}
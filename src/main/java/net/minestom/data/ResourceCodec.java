@@ -0,0 +1,37 @@
+package net.minestom.data;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Decodes a compressed variant of a data resource.
+ * <p>
+ * {@link MinestomData#resource(String)} falls back to {@code path + extension()} for every known codec when the
+ * plain resource is missing. Gzip and the shared dictionary deflate codec are always available, others can be
+ * provided as a {@link java.util.ServiceLoader service}.
+ */
+public interface ResourceCodec {
+
+    /**
+     * Reads gzip compressed resources ({@code .gz}).
+     */
+    ResourceCodec GZIP = BuiltinCodecs.GZIP;
+
+    /**
+     * Reads resources compressed with zlib against the shared dictionary shipped with the data ({@code .zdict}).
+     */
+    ResourceCodec DEFLATE_DICTIONARY = BuiltinCodecs.DEFLATE_DICTIONARY;
+
+    /**
+     * @return the suffix appended to the plain resource path, including the leading dot
+     */
+    String extension();
+
+    /**
+     * Wraps the encoded stream into one producing the original bytes.
+     *
+     * @param encoded the encoded resource, owned by the returned stream
+     * @return the decoded stream
+     */
+    InputStream decode(InputStream encoded) throws IOException;
+}